@@ -0,0 +1,71 @@
+package com.server.backend.jwt;
+
+import com.server.backend.metrics.AuthMetrics;
+import com.server.backend.user.SecurityVersionRegistry;
+import com.server.backend.user.UserRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+    @Param({"false", "true"})
+    private boolean cacheEnabled;
+
+    @Param({"false", "true"})
+    private boolean statelessEnabled;
+
+    private JwtAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        var properties = JwtBenchmarkSupport.properties(cacheEnabled, statelessEnabled);
+        var jwtService = JwtBenchmarkSupport.jwtService(properties);
+        var user = JwtBenchmarkSupport.user();
+        var meterRegistry = new SimpleMeterRegistry();
+
+        var userRepo = mock(UserRepo.class);
+        when(userRepo.findByUsername(anyString())).thenReturn(Optional.of(user));
+        when(userRepo.findSecurityVersionById(anyLong())).thenReturn(Optional.of(user.getSecurityVersion()));
+
+        filter = new JwtAuthFilter(jwtService, username -> userRepo.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException(username)),
+                new AuthMetrics(meterRegistry),
+                properties,
+                new SecurityVersionRegistry(userRepo, properties, meterRegistry));
+        authorization = "Bearer " + jwtService.generateAccessToken(user);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilterInternal() throws Exception {
+        var request = new MockHttpServletRequest("GET", "/api/v1/user/id/1");
+        request.addHeader("Authorization", authorization);
+        var response = new MockHttpServletResponse();
+
+        try {
+            filter.doFilterInternal(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        return response;
+    }
+}
@@ -0,0 +1,55 @@
+package com.server.backend.jwt;
+
+import com.server.backend.token.revocation.TokenRevocationService;
+import com.server.backend.user.User;
+import com.server.backend.user.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+
+final class JwtBenchmarkSupport {
+    static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret";
+
+    private JwtBenchmarkSupport() {
+    }
+
+    static JwtService jwtService(boolean cacheEnabled) {
+        return jwtService(properties(cacheEnabled, false));
+    }
+
+    static JwtService jwtService(JwtProperties properties) {
+        return new JwtService(
+                new JwtKeyRing(properties, event -> {}),
+                new VerifiedTokenCache(properties, new SimpleMeterRegistry()),
+                mock(TokenRevocationService.class),
+                properties
+        );
+    }
+
+    static JwtProperties properties(boolean cacheEnabled, boolean statelessEnabled) {
+        return new JwtProperties(
+                SECRET,
+                JwtKeyRing.DEFAULT_KEY_ID,
+                Map.of(),
+                null,
+                Duration.ofSeconds(30),
+                new JwtProperties.Keystore(null, null, "PKCS12"),
+                Duration.ofMinutes(5),
+                new JwtProperties.Cache(cacheEnabled, 10_000),
+                new JwtProperties.Stateless(statelessEnabled, Duration.ofSeconds(30), 10_000)
+        );
+    }
+
+    static User user() {
+        return User.builder()
+                .Id(1L)
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("{noop}benchmark")
+                .role(UserRole.USER)
+                .build();
+    }
+}
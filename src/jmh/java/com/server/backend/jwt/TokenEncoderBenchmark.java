@@ -0,0 +1,65 @@
+package com.server.backend.jwt;
+
+import com.server.backend.user.User;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares minting through the generic jjwt builder with the fixed-shape
+ * {@link HmacTokenEncoder}; run with {@code -prof gc} to see bytes per token.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenEncoderBenchmark {
+    private JwtKeyRing.SigningKey signingKey;
+    private HmacTokenEncoder encoder;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        var keyRing = new JwtKeyRing(JwtBenchmarkSupport.properties(false, false), event -> {});
+        signingKey = keyRing.signingKey();
+        encoder = new HmacTokenEncoder(signingKey.id(), (SecretKey) signingKey.key());
+        user = JwtBenchmarkSupport.user();
+    }
+
+    @Benchmark
+    public String jjwtBuilder() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("type", JwtService.ACCESS_TOKEN_TYPE);
+        var now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .claims(claims)
+                .id(UUID.randomUUID().toString())
+                .subject(user.getUsername())
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + JwtService.ACCESS_TOKEN_LIFETIME.toMillis()))
+                .header().keyId(signingKey.id()).and()
+                .signWith(signingKey.key())
+                .compact();
+    }
+
+    @Benchmark
+    public String hmacTokenEncoder() {
+        var now = System.currentTimeMillis();
+        return encoder.encode(
+                JwtService.ACCESS_TOKEN_TYPE,
+                UUID.randomUUID(),
+                user.getUsername(),
+                now,
+                now + JwtService.ACCESS_TOKEN_LIFETIME.toMillis()
+        );
+    }
+}
@@ -0,0 +1,14 @@
+package com.server.backend.jwt;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * {@link TokenEncoderBenchmark} with JMH worker threads running as virtual
+ * threads, the {@code VIRTUAL_THREADS_ENABLED} serving mode, where the encoder
+ * borrows its buffers from a pool instead of a thread local.
+ */
+@Threads(Threads.MAX)
+@Fork(value = 1, jvmArgsAppend = "-Djmh.executor=VIRTUAL")
+public class VirtualThreadTokenEncoderBenchmark extends TokenEncoderBenchmark {
+}
@@ -0,0 +1,47 @@
+package com.server.backend.user;
+
+import com.server.backend.audit.AuditLog;
+import com.server.backend.user.dto.response.UserResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserResponseMappingBenchmark {
+    private UserService userService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        userService = new UserService(
+                mock(UserRepo.class),
+                mock(UserExistenceIndex.class),
+                null,
+                event -> {},
+                JsonMapper.builder().build(),
+                mock(PlatformTransactionManager.class),
+                mock(AuditLog.class)
+        );
+        user = User.builder()
+                .Id(1L)
+                .username("benchmark")
+                .email("benchmark@example.com")
+                .password("{noop}benchmark")
+                .role(UserRole.USER)
+                .build();
+    }
+
+    @Benchmark
+    public UserResponse toUserResponse() {
+        return userService.toUserResponse(user);
+    }
+}
@@ -0,0 +1,9 @@
+package com.server.backend.audit;
+
+public enum AuditAction {
+    LOGIN,
+    REGISTER,
+    TOKEN_REFRESH,
+    TOKEN_ROTATE,
+    USER_UPDATE
+}
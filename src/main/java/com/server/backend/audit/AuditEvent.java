@@ -0,0 +1,10 @@
+package com.server.backend.audit;
+
+import java.time.Instant;
+
+public record AuditEvent(
+        Instant timestamp,
+        AuditAction action,
+        String subject,
+        String outcome
+) {}
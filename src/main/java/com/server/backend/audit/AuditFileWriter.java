@@ -0,0 +1,82 @@
+package com.server.backend.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends to a file through a {@link FileChannel} and rolls it over once it
+ * would grow past the size limit, keeping up to {@code maxHistory} older files
+ * as {@code <name>.1} (newest) to {@code <name>.<maxHistory>}.
+ */
+final class AuditFileWriter implements Closeable {
+    private final Path path;
+    private final long maxFileSize;
+    private final int maxHistory;
+
+    private FileChannel channel;
+    private long size;
+
+    AuditFileWriter(Path path, long maxFileSize, int maxHistory) throws IOException {
+        this.path = path;
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+
+        var parent = path.toAbsolutePath().getParent();
+
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        open();
+    }
+
+    void write(ByteBuffer batch) throws IOException {
+        if (size > 0 && size + batch.remaining() > maxFileSize) {
+            rollOver();
+        }
+
+        while (batch.hasRemaining()) {
+            size += channel.write(batch);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void rollOver() throws IOException {
+        channel.close();
+
+        if (maxHistory > 0) {
+            Files.deleteIfExists(rolled(maxHistory));
+
+            for (var i = maxHistory - 1; i >= 1; i--) {
+                if (Files.exists(rolled(i))) {
+                    Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+
+            Files.move(path, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(path);
+        }
+
+        open();
+    }
+
+    private void open() throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        size = channel.size();
+    }
+
+    private Path rolled(int index) {
+        return path.resolveSibling(path.getFileName() + "." + index);
+    }
+}
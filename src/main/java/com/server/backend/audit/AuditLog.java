@@ -0,0 +1,196 @@
+package com.server.backend.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.server.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous audit trail for logins, registrations, token refreshes and
+ * account updates.
+ * <p>
+ * Request threads only enqueue into a bounded lock-free ring buffer. A single
+ * background writer drains it in batches and appends JSON lines to a local
+ * file with size-based rollover.
+ * <p>
+ * Drop policy: when the buffer is full the new event is dropped (drop
+ * newest). Callers never block or fail because of auditing, events already
+ * queued are kept in order, and every drop is counted in
+ * {@code audit.events{result="dropped"}}. Batches that cannot be written are
+ * counted as {@code failed}.
+ */
+@Slf4j
+@Component
+public class AuditLog implements SmartLifecycle {
+    private static final String METRIC_NAME = "audit.events";
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    private final AuditProperties properties;
+    private final JsonMapper jsonMapper;
+    private final AuditRingBuffer<AuditEvent> buffer;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+
+    private final List<AuditEvent> batch = new ArrayList<>();
+    private final ByteArrayOutputStream lines = new ByteArrayOutputStream();
+
+    private volatile boolean running;
+    private Thread writer;
+    private AuditFileWriter file;
+
+    public AuditLog(AuditProperties properties, JsonMapper jsonMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jsonMapper = jsonMapper;
+        this.buffer = new AuditRingBuffer<>(properties.capacity());
+
+        this.enqueued = counter(meterRegistry, "enqueued");
+        this.dropped = counter(meterRegistry, "dropped");
+        this.written = counter(meterRegistry, "written");
+        this.failed = counter(meterRegistry, "failed");
+
+        Gauge.builder("audit.queue.size", buffer, AuditRingBuffer::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    public void record(AuditAction action, String subject, String outcome) {
+        if (!properties.enabled()) {
+            return;
+        }
+
+        if (buffer.offer(new AuditEvent(Instant.now(), action, subject, outcome))) {
+            enqueued.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!properties.enabled() || running) {
+            return;
+        }
+
+        running = true;
+        writer = Thread.ofPlatform()
+                .name("audit-writer")
+                .daemon()
+                .start(this::drainLoop);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(writer);
+
+        try {
+            writer.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        writer = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Boot stops the web server one step below the graceful-shutdown phase
+     * ({@code SMART_LIFECYCLE_PHASE - 1024}); sitting a further step below
+     * starts the log before the server and stops it only after the server has
+     * stopped, so events from requests still in flight during shutdown are
+     * written.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 2048;
+    }
+
+    private void drainLoop() {
+        var idleNanos = properties.flushInterval().toNanos();
+
+        while (running || buffer.size() > 0) {
+            if (buffer.drain(batch::add, properties.batchSize()) == 0) {
+                if (running) {
+                    LockSupport.parkNanos(idleNanos);
+                }
+
+                continue;
+            }
+
+            writeBatch();
+        }
+
+        closeFile();
+    }
+
+    private void writeBatch() {
+        try {
+            lines.reset();
+
+            for (var event : batch) {
+                lines.write(jsonMapper.writeValueAsBytes(event));
+                lines.write('\n');
+            }
+
+            if (file == null) {
+                file = new AuditFileWriter(
+                        properties.path(),
+                        properties.maxFileSize().toBytes(),
+                        properties.maxHistory()
+                );
+            }
+
+            file.write(ByteBuffer.wrap(lines.toByteArray()));
+            written.increment(batch.size());
+        } catch (IOException | JacksonException e) {
+            failed.increment(batch.size());
+            log.error("Failed to write {} audit event(s) to {}", batch.size(), properties.path(), e);
+            closeFile();
+        } finally {
+            batch.clear();
+        }
+    }
+
+    private void closeFile() {
+        if (file == null) {
+            return;
+        }
+
+        try {
+            file.close();
+        } catch (IOException e) {
+            log.warn("Failed to close audit log {}", properties.path(), e);
+        }
+
+        file = null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_NAME).tag("result", result).register(meterRegistry);
+    }
+}
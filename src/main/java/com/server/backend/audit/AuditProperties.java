@@ -0,0 +1,19 @@
+package com.server.backend.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@ConfigurationProperties("audit")
+public record AuditProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("logs/audit.log") Path path,
+        @DefaultValue("8192") int capacity,
+        @DefaultValue("512") int batchSize,
+        @DefaultValue("200ms") Duration flushInterval,
+        @DefaultValue("64MB") DataSize maxFileSize,
+        @DefaultValue("5") int maxHistory
+) {}
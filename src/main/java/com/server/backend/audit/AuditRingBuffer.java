@@ -0,0 +1,75 @@
+package com.server.backend.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded multi-producer, single-consumer ring buffer. Producers claim a slot
+ * by CAS on the tail and publish it with a release store; the consumer takes
+ * published slots in order and frees them before moving the head. A full
+ * buffer rejects the offer instead of blocking or overwriting.
+ */
+final class AuditRingBuffer<E> {
+    private final AtomicReferenceArray<E> slots;
+    private final int capacity;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+
+    private volatile long head;
+
+    AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Audit buffer capacity must be a power of two, got " + capacity);
+        }
+
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(E element) {
+        while (true) {
+            var claimed = tail.get();
+
+            if (claimed - head >= capacity) {
+                return false;
+            }
+
+            if (tail.compareAndSet(claimed, claimed + 1)) {
+                slots.setRelease((int) claimed & mask, element);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Must only be called from the single consumer thread. Stops early at a
+     * slot that has been claimed but not yet published.
+     */
+    int drain(Consumer<? super E> consumer, int limit) {
+        var position = head;
+        var drained = 0;
+
+        while (drained < limit) {
+            var index = (int) position & mask;
+            var element = slots.getAcquire(index);
+
+            if (element == null) {
+                break;
+            }
+
+            slots.setPlain(index, null);
+            consumer.accept(element);
+            position++;
+            drained++;
+        }
+
+        head = position;
+        return drained;
+    }
+
+    int size() {
+        return (int) (tail.get() - head);
+    }
+}
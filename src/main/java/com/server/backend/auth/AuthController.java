@@ -1,7 +1,9 @@
 package com.server.backend.auth;
 
+import com.server.backend.auth.dto.request.BulkRegisterRequest;
 import com.server.backend.auth.dto.request.LoginRequest;
 import com.server.backend.auth.dto.request.RegisterRequest;
+import com.server.backend.auth.dto.response.BulkRegisterResponse;
 import com.server.backend.auth.dto.response.LoginResponse;
 import com.server.backend.auth.dto.response.RegisterResponse;
 import lombok.RequiredArgsConstructor;
@@ -16,12 +18,18 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class AuthController {
     private final AuthService authService;
+    private final BulkRegistrationService bulkRegistrationService;
 
     @PostMapping("/register")
     public ResponseEntity<RegisterResponse> register(@RequestBody RegisterRequest request) {
         return authService.register(request);
     }
 
+    @PostMapping("/register/bulk")
+    public ResponseEntity<BulkRegisterResponse> registerBulk(@RequestBody BulkRegisterRequest request) {
+        return bulkRegistrationService.register(request);
+    }
+
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
         return authService.login(request);
@@ -1,93 +1,160 @@
 package com.server.backend.auth;
 
+import com.server.backend.audit.AuditAction;
+import com.server.backend.audit.AuditLog;
 import com.server.backend.auth.dto.request.LoginRequest;
 import com.server.backend.auth.dto.request.RegisterRequest;
 import com.server.backend.auth.dto.response.LoginResponse;
 import com.server.backend.auth.dto.response.RegisterResponse;
 import com.server.backend.jwt.JwtService;
+import com.server.backend.metrics.AuthMetrics;
 import com.server.backend.user.User;
+import com.server.backend.user.UserConflict;
+import com.server.backend.user.UserExistenceIndex;
 import com.server.backend.user.UserRepo;
 import com.server.backend.user.UserRole;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
 @RequiredArgsConstructor
 public class AuthService {
+    private static final String LOGIN = "login";
+    private static final String REGISTER = "register";
+
     private final UserRepo userRepo;
+    private final UserExistenceIndex userExistenceIndex;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final AuthMetrics authMetrics;
+    private final AuditLog auditLog;
 
     private final PasswordEncoder passwordEncoder;
 
     public ResponseEntity<RegisterResponse> register(RegisterRequest request) {
+        var total = authMetrics.start();
+
         if (request.username().isEmpty() || request.password().isEmpty()) {
+            authMetrics.operation(total, REGISTER, "bad-request");
+            auditLog.record(AuditAction.REGISTER, request.username(), "bad-request");
             return ResponseEntity.badRequest().body(new RegisterResponse(null));
         }
 
-        if (userRepo.findByUsername(request.username()).isPresent()) {
-            return ResponseEntity
-                    .status(HttpStatus.CONFLICT)
-                    .body(new RegisterResponse("User already exists!"));
-        }
-
-        if (userRepo.findByEmail(request.email()).isPresent()) {
-            return ResponseEntity
-                    .status(HttpStatus.CONFLICT)
-                    .body(new RegisterResponse("Email is already taken!"));
+        var sample = authMetrics.start();
+        String hash;
+
+        try {
+            hash = passwordEncoder.encode(request.password());
+            authMetrics.stage(sample, REGISTER, "password-hash", "success");
+        } catch (RuntimeException e) {
+            authMetrics.stage(sample, REGISTER, "password-hash", "error");
+            authMetrics.operation(total, REGISTER, "error");
+            auditLog.record(AuditAction.REGISTER, request.username(), "error");
+            throw e;
         }
 
         var user = User.builder()
                 .username(request.username())
-                .password(passwordEncoder.encode(request.password()))
+                .password(hash)
                 .email(request.email())
                 .role(UserRole.USER)
                 .build();
 
-        userRepo.save(user);
+        sample = authMetrics.start();
+
+        try {
+            userRepo.saveAndFlush(user);
+            userExistenceIndex.add(user.getUsername(), user.getEmail());
+            authMetrics.stage(sample, REGISTER, "insert", "success");
+        } catch (DataIntegrityViolationException e) {
+            authMetrics.stage(sample, REGISTER, "insert", "conflict");
+            var conflict = UserConflict.of(e).orElseThrow(() -> e);
+            authMetrics.operation(total, REGISTER, "conflict");
+            auditLog.record(AuditAction.REGISTER, request.username(), "conflict");
+
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(new RegisterResponse(conflictMessage(conflict)));
+        }
+
+        authMetrics.operation(total, REGISTER, "success");
+        auditLog.record(AuditAction.REGISTER, request.username(), "success");
 
         return ResponseEntity.ok(new RegisterResponse("User registered successfully!"));
     }
 
+    static String conflictMessage(UserConflict conflict) {
+        return switch (conflict) {
+            case USERNAME -> "User already exists!";
+            case EMAIL -> "Email is already taken!";
+        };
+    }
+
     public ResponseEntity<LoginResponse>  login(LoginRequest request) {
+        var total = authMetrics.start();
+
         if (request.password().isEmpty() || request.username().isEmpty() ) {
+            authMetrics.operation(total, LOGIN, "bad-request");
+            auditLog.record(AuditAction.LOGIN, request.username(), "bad-request");
             return ResponseEntity
                     .badRequest()
                     .body( new LoginResponse(
+                            null,
                             null,
                             "Invalid username or password"));
         }
 
         var username = request.username();
+        var sample = authMetrics.start();
         var user = userRepo.findByUsername(username).orElse(null);
+        authMetrics.stage(sample, LOGIN, "user-lookup", user == null ? "not-found" : "found");
 
         if (user == null) {
+            authMetrics.operation(total, LOGIN, "unknown-user");
+            auditLog.record(AuditAction.LOGIN, request.username(), "unknown-user");
             return ResponseEntity
                     .status(HttpStatus.NOT_FOUND)
                     .body( new LoginResponse(
+                            null,
                             null,
                             "User not found!"
                     ));
         }
 
         var password = request.password();
+        sample = authMetrics.start();
+
+        try {
+            authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            username,
+                            password
+                    )
+            );
+            authMetrics.stage(sample, LOGIN, "authenticate", "success");
+        } catch (AuthenticationException e) {
+            authMetrics.stage(sample, LOGIN, "authenticate", "bad-credentials");
+            authMetrics.operation(total, LOGIN, "bad-credentials");
+            auditLog.record(AuditAction.LOGIN, request.username(), "bad-credentials");
+            throw e;
+        }
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        username,
-                        password
-                )
-        );
-
-        var token = jwtService.generateRefreshToken(user);
+        sample = authMetrics.start();
+        var tokens = jwtService.generateTokenPair(user);
+        authMetrics.stage(sample, LOGIN, "token-issue", "success");
+        authMetrics.operation(total, LOGIN, "success");
+        auditLog.record(AuditAction.LOGIN, request.username(), "success");
 
         return ResponseEntity.ok(new LoginResponse(
-                token,
+                tokens.accessToken(),
+                tokens.refreshToken(),
                 "User login successful!"
         ));
     }
@@ -0,0 +1,172 @@
+package com.server.backend.auth;
+
+import com.server.backend.auth.dto.request.BulkRegisterRequest;
+import com.server.backend.auth.dto.request.RegisterRequest;
+import com.server.backend.auth.dto.response.BulkRegisterResponse;
+import com.server.backend.auth.dto.response.BulkRegisterResult;
+import com.server.backend.password.BoundedPasswordEncoder;
+import com.server.backend.user.User;
+import com.server.backend.user.UserConflict;
+import com.server.backend.user.UserExistenceIndex;
+import com.server.backend.user.UserRepo;
+import com.server.backend.user.UserRole;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+@Service
+public class BulkRegistrationService {
+    public static final int MAX_BATCH_SIZE = 500;
+
+    private final UserRepo userRepo;
+    private final UserExistenceIndex userExistenceIndex;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final TransactionTemplate transaction;
+
+    public BulkRegistrationService(
+            UserRepo userRepo,
+            UserExistenceIndex userExistenceIndex,
+            BoundedPasswordEncoder passwordEncoder,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.userRepo = userRepo;
+        this.userExistenceIndex = userExistenceIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    public ResponseEntity<BulkRegisterResponse> register(BulkRegisterRequest request) {
+        var rows = request.users();
+
+        if (rows == null || rows.isEmpty() || rows.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(new BulkRegisterResponse(List.of()));
+        }
+
+        var results = new BulkRegisterResult[rows.size()];
+        var accepted = selectNewUsers(rows, results);
+
+        var hashes = passwordEncoder.encodeAll(accepted.stream()
+                .map(index -> rows.get(index).password())
+                .toList());
+
+        insert(rows, accepted, hashes, results);
+
+        return ResponseEntity.ok(new BulkRegisterResponse(List.of(results)));
+    }
+
+    private List<Integer> selectNewUsers(List<RegisterRequest> rows, BulkRegisterResult[] results) {
+        var existingUsernames = userExistenceIndex.usernames().existing(rows.stream()
+                .filter(Objects::nonNull)
+                .map(RegisterRequest::username)
+                .filter(Objects::nonNull)
+                .toList(), userRepo::findExistingUsernames);
+        var existingEmails = userExistenceIndex.emails().existing(rows.stream()
+                .filter(Objects::nonNull)
+                .map(RegisterRequest::email)
+                .filter(Objects::nonNull)
+                .toList(), userRepo::findExistingEmails);
+
+        var usernames = new HashSet<>(existingUsernames);
+        var emails = new HashSet<>(existingEmails);
+        var accepted = new ArrayList<Integer>();
+
+        for (var index = 0; index < rows.size(); index++) {
+            var row = rows.get(index);
+
+            if (row == null || isBlank(row.username()) || isBlank(row.password())) {
+                results[index] = result(index, row, HttpStatus.BAD_REQUEST, "Invalid username or password");
+            } else if (usernames.contains(row.username())) {
+                results[index] = conflict(index, row, UserConflict.USERNAME);
+            } else if (row.email() != null && emails.contains(row.email())) {
+                results[index] = conflict(index, row, UserConflict.EMAIL);
+            } else {
+                usernames.add(row.username());
+
+                if (row.email() != null) {
+                    emails.add(row.email());
+                }
+
+                accepted.add(index);
+            }
+        }
+
+        return accepted;
+    }
+
+    private void insert(
+            List<RegisterRequest> rows,
+            List<Integer> accepted,
+            List<String> hashes,
+            BulkRegisterResult[] results
+    ) {
+        try {
+            transaction.executeWithoutResult(status -> {
+                var users = new ArrayList<User>(accepted.size());
+
+                for (var i = 0; i < accepted.size(); i++) {
+                    users.add(newUser(rows.get(accepted.get(i)), hashes.get(i)));
+                }
+
+                userRepo.saveAllAndFlush(users);
+            });
+
+            for (var index : accepted) {
+                results[index] = created(index, rows.get(index));
+            }
+        } catch (DataIntegrityViolationException e) {
+            insertOneByOne(rows, accepted, hashes, results);
+        }
+    }
+
+    private void insertOneByOne(
+            List<RegisterRequest> rows,
+            List<Integer> accepted,
+            List<String> hashes,
+            BulkRegisterResult[] results
+    ) {
+        for (var i = 0; i < accepted.size(); i++) {
+            var index = accepted.get(i);
+            var row = rows.get(index);
+            var user = newUser(row, hashes.get(i));
+
+            try {
+                transaction.executeWithoutResult(status -> userRepo.saveAndFlush(user));
+                results[index] = created(index, row);
+            } catch (DataIntegrityViolationException e) {
+                var conflict = UserConflict.of(e).orElseThrow(() -> e);
+                results[index] = conflict(index, row, conflict);
+            }
+        }
+    }
+
+    private static User newUser(RegisterRequest row, String passwordHash) {
+        return User.builder()
+                .username(row.username())
+                .password(passwordHash)
+                .email(row.email())
+                .role(UserRole.USER)
+                .build();
+    }
+
+    private BulkRegisterResult created(int index, RegisterRequest row) {
+        userExistenceIndex.add(row.username(), row.email());
+        return result(index, row, HttpStatus.OK, "User registered successfully!");
+    }
+
+    private static BulkRegisterResult conflict(int index, RegisterRequest row, UserConflict conflict) {
+        return result(index, row, HttpStatus.CONFLICT, AuthService.conflictMessage(conflict));
+    }
+
+    private static BulkRegisterResult result(int index, RegisterRequest row, HttpStatus status, String message) {
+        return new BulkRegisterResult(index, row == null ? null : row.username(), status.value(), message);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,7 @@
+package com.server.backend.auth.dto.request;
+
+import java.util.List;
+
+public record BulkRegisterRequest(
+        List<RegisterRequest> users
+) {}
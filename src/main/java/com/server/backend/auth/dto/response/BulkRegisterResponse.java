@@ -0,0 +1,7 @@
+package com.server.backend.auth.dto.response;
+
+import java.util.List;
+
+public record BulkRegisterResponse(
+        List<BulkRegisterResult> results
+) {}
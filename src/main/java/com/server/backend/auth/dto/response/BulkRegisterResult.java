@@ -0,0 +1,8 @@
+package com.server.backend.auth.dto.response;
+
+public record BulkRegisterResult(
+        int index,
+        String username,
+        int status,
+        String message
+) {}
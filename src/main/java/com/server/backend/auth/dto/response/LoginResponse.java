@@ -1,6 +1,12 @@
 package com.server.backend.auth.dto.response;
 
+/**
+ * {@code refreshToken} and {@code message} keep their original names and
+ * meaning, so clients written before access tokens were returned from login
+ * keep working; {@code accessToken} is an additional field.
+ */
 public record LoginResponse(
+        String accessToken,
         String refreshToken,
         String message
 ) {}
@@ -0,0 +1,177 @@
+package com.server.backend.auth.throttle;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rejects login attempts with a fast 429 once the client IP or the target
+ * username runs out of tokens, before any BCrypt work is done. Buckets live
+ * in size-bounded caches and are dropped after sitting idle. Usernames are
+ * trimmed and lower-cased first, matching the case-insensitive lookup, so
+ * case or padding variants share one bucket.
+ */
+@Component
+public class LoginThrottleFilter extends OncePerRequestFilter {
+    static final String LOGIN_PATH = "/api/v1/auth/login";
+
+    private static final String METRIC_NAME = "auth.login.throttled";
+
+    private final LoginThrottleProperties properties;
+    private final JsonMapper jsonMapper;
+    private final long startNanos = System.nanoTime();
+
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> usernameBuckets;
+    private final Counter ipThrottled;
+    private final Counter usernameThrottled;
+    private final byte[] throttledBody;
+
+    public LoginThrottleFilter(
+            LoginThrottleProperties properties,
+            JsonMapper jsonMapper,
+            MeterRegistry meterRegistry
+    ) {
+        validate(properties.ip());
+        validate(properties.username());
+
+        this.properties = properties;
+        this.jsonMapper = jsonMapper;
+        this.ipBuckets = buckets(properties);
+        this.usernameBuckets = buckets(properties);
+        this.ipThrottled = Counter.builder(METRIC_NAME).tag("scope", "ip").register(meterRegistry);
+        this.usernameThrottled = Counter.builder(METRIC_NAME).tag("scope", "username").register(meterRegistry);
+
+        var problem = new LinkedHashMap<String, Object>();
+        problem.put("type", "about:blank");
+        problem.put("title", HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase());
+        problem.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        problem.put("detail", "Too many login attempts, try again later");
+        this.throttledBody = jsonMapper.writeValueAsBytes(problem);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.enabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || !LOGIN_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        var now = nowMillis();
+        var wait = acquire(ipBuckets, properties.ip(), request.getRemoteAddr(), now);
+
+        if (wait > 0) {
+            ipThrottled.increment();
+            reject(response, wait);
+            return;
+        }
+
+        var cached = cacheBody(request);
+
+        if (cached == null) {
+            response.sendError(HttpStatus.CONTENT_TOO_LARGE.value());
+            return;
+        }
+
+        var username = username(cached.body());
+
+        if (username != null) {
+            wait = acquire(usernameBuckets, properties.username(), username, now);
+
+            if (wait > 0) {
+                usernameThrottled.increment();
+                reject(response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cached, response);
+    }
+
+    private long acquire(
+            Cache<String, TokenBucket> buckets,
+            LoginThrottleProperties.Bucket bucket,
+            String key,
+            long now
+    ) {
+        return buckets.get(key, ignored -> new TokenBucket(
+                bucket.capacity(),
+                bucket.refillPeriod().toMillis(),
+                now
+        )).tryAcquire(now);
+    }
+
+    private CachedBodyRequest cacheBody(HttpServletRequest request) throws IOException {
+        if (request.getContentLengthLong() > properties.maxBodySize()) {
+            return null;
+        }
+
+        var body = request.getInputStream().readNBytes(properties.maxBodySize() + 1);
+        return body.length > properties.maxBodySize() ? null : new CachedBodyRequest(request, body);
+    }
+
+    private String username(byte[] body) {
+        try {
+            var username = jsonMapper.readTree(body).get("username");
+            return username == null || !username.isString()
+                    ? null
+                    : username.asString().strip().toLowerCase(Locale.ROOT);
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, TimeUnit.MILLISECONDS.toSeconds(waitMillis + 999))));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(throttledBody.length);
+        response.getOutputStream().write(throttledBody);
+    }
+
+    private long nowMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private static Cache<String, TokenBucket> buckets(LoginThrottleProperties properties) {
+        return Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .build();
+    }
+
+    private static void validate(LoginThrottleProperties.Bucket bucket) {
+        if (bucket.capacity() < 1 || bucket.capacity() > TokenBucket.MAX_CAPACITY) {
+            throw new IllegalArgumentException("Login throttle capacity must be between 1 and " + TokenBucket.MAX_CAPACITY);
+        }
+
+        if (bucket.refillPeriod().toMillis() < 1) {
+            throw new IllegalArgumentException("Login throttle refill period must be at least 1ms");
+        }
+    }
+}
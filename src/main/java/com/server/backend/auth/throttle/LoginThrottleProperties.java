@@ -0,0 +1,21 @@
+package com.server.backend.auth.throttle;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("security.login-throttle")
+public record LoginThrottleProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Bucket ip,
+        @DefaultValue Bucket username,
+        @DefaultValue("100000") long maxBuckets,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("4096") int maxBodySize
+) {
+    public record Bucket(
+            @DefaultValue("10") int capacity,
+            @DefaultValue("6s") Duration refillPeriod
+    ) {}
+}
@@ -0,0 +1,56 @@
+package com.server.backend.auth.throttle;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket whose whole state (refill timestamp and token count) is packed
+ * into one {@link AtomicLong} and updated with CAS, so concurrent attempts on
+ * the same key never block each other.
+ */
+final class TokenBucket {
+    private static final int TOKEN_BITS = 20;
+    private static final long TOKEN_MASK = (1L << TOKEN_BITS) - 1;
+
+    static final int MAX_CAPACITY = (int) TOKEN_MASK;
+
+    private final int capacity;
+    private final long refillPeriodMillis;
+    private final AtomicLong state;
+
+    TokenBucket(int capacity, long refillPeriodMillis, long nowMillis) {
+        this.capacity = capacity;
+        this.refillPeriodMillis = refillPeriodMillis;
+        this.state = new AtomicLong(pack(nowMillis, capacity));
+    }
+
+    /**
+     * @return {@code 0} if a token was taken, otherwise the milliseconds until
+     * the next token becomes available
+     */
+    long tryAcquire(long nowMillis) {
+        while (true) {
+            var current = state.get();
+            var refilledAt = current >>> TOKEN_BITS;
+            var tokens = current & TOKEN_MASK;
+            var elapsed = Math.max(0, nowMillis - refilledAt);
+            var added = elapsed / refillPeriodMillis;
+
+            if (added > 0) {
+                tokens = Math.min(capacity, tokens + added);
+                refilledAt = tokens == capacity ? nowMillis : refilledAt + added * refillPeriodMillis;
+            }
+
+            if (tokens == 0) {
+                return refillPeriodMillis - (nowMillis - refilledAt);
+            }
+
+            if (state.compareAndSet(current, pack(refilledAt, tokens - 1))) {
+                return 0;
+            }
+        }
+    }
+
+    private static long pack(long refilledAt, long tokens) {
+        return refilledAt << TOKEN_BITS | tokens;
+    }
+}
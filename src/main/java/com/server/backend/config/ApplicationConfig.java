@@ -1,22 +1,30 @@
 package com.server.backend.config;
 
+import com.server.backend.user.CachedUserDetailsService;
 import com.server.backend.user.UserRepo;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfig {
     private final UserRepo userRepo;
+    private final UserCacheProperties userCacheProperties;
 
     @Bean
-    public UserDetailsService userDetailsService() {
-        return username -> userRepo.findByUsername(username)
-                .orElseThrow(() ->
-                        new UsernameNotFoundException("User not found: " + username)
-                );
+    public CachedUserDetailsService userDetailsService(MeterRegistry meterRegistry) {
+        return new CachedUserDetailsService(
+                username -> userRepo.findByUsername(username)
+                        .orElseThrow(() ->
+                                new UsernameNotFoundException("User not found: " + username)
+                        ),
+                userRepo::findAllByUsernameIn,
+                userCacheProperties.ttl(),
+                userCacheProperties.maxSize(),
+                meterRegistry
+        );
     }
 }
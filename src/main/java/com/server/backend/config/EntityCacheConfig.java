@@ -0,0 +1,46 @@
+package com.server.backend.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.server.backend.user.User;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+
+/**
+ * Builds the bounded Caffeine regions behind Hibernate's second-level cache
+ * and hands the cache manager to Hibernate, so region sizes and expiry come
+ * from application properties instead of a separate provider config file.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class EntityCacheConfig {
+    private final EntityCacheProperties properties;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager() {
+        var cacheManager = new CaffeineCachingProvider().getCacheManager();
+
+        cacheManager.createCache(User.CACHE_REGION, regionConfiguration());
+        cacheManager.createCache(User.NATURAL_ID_CACHE_REGION, regionConfiguration());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private CaffeineConfiguration<Object, Object> regionConfiguration() {
+        var configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(properties.maxSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(properties.ttl().toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,12 @@
+package com.server.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("user-entity-cache")
+public record EntityCacheProperties(
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("10000") long maxSize
+) {}
@@ -1,14 +1,36 @@
 package com.server.backend.config;
 
+import com.server.backend.password.BcryptStrengthCalibrator;
+import com.server.backend.password.BoundedPasswordEncoder;
+import com.server.backend.password.PasswordHashingExecutor;
+import com.server.backend.password.PasswordHashingProperties;
+import com.server.backend.password.StrengthAwareBCryptPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 public class PasswordConfig {
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordHashingExecutor passwordHashingExecutor(
+            PasswordHashingProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new PasswordHashingExecutor(properties, meterRegistry);
+    }
+
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(
+            PasswordHashingProperties properties,
+            PasswordHashingExecutor passwordHashingExecutor
+    ) {
+        var strength = properties.calibration().enabled()
+                ? BcryptStrengthCalibrator.calibrate(properties.calibration())
+                : properties.bcryptStrength();
+
+        return new BoundedPasswordEncoder(
+                new StrengthAwareBCryptPasswordEncoder(strength),
+                passwordHashingExecutor
+        );
     }
 }
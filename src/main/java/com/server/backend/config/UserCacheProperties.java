@@ -0,0 +1,12 @@
+package com.server.backend.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("security.user-cache")
+public record UserCacheProperties(
+        @DefaultValue("60s") Duration ttl,
+        @DefaultValue("10000") long maxSize
+) {}
@@ -0,0 +1,320 @@
+package com.server.backend.jwt;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mints HMAC-signed tokens with the fixed {@code type}/{@code jti}/{@code sub}/
+ * {@code iat}/{@code exp} claim set, optionally followed by the {@code uid}/
+ * {@code role}/{@code sv} principal claims, without the generic jjwt builder.
+ * <p>
+ * The header segment is encoded once per key, the payload is written straight
+ * into a reusable buffer and signed with a reusable {@link Mac}, so minting
+ * only allocates the resulting string and the token id. Platform threads keep
+ * their buffers in a thread local. Virtual threads usually live for a single
+ * request, so they borrow buffers from a small lock-free pool sized to the
+ * carrier count instead of initialising a new {@link Mac} per token.
+ * Output verifies with the regular jjwt parser.
+ */
+final class HmacTokenEncoder {
+    private static final byte[] BASE64_URL =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final String USER_ID_FIELD = ",\"" + JwtService.USER_ID_CLAIM + "\":";
+    private static final String ROLE_FIELD = ",\"" + JwtService.ROLE_CLAIM + "\":";
+    private static final String SECURITY_VERSION_FIELD = ",\"" + JwtService.SECURITY_VERSION_CLAIM + "\":";
+
+    private static final int INITIAL_PAYLOAD_CAPACITY = 256;
+    private static final int POOL_SIZE = Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) * 4;
+    private static final int MAX_ESCAPED_CHAR_LENGTH = 6;
+
+    private final SecretKey key;
+    private final byte[] header;
+    private final ThreadLocal<Buffers> buffers = ThreadLocal.withInitial(this::newBuffers);
+    private final AtomicReferenceArray<Buffers> pool = new AtomicReferenceArray<>(POOL_SIZE);
+
+    HmacTokenEncoder(String keyId, SecretKey key) {
+        this.key = key;
+
+        var json = newBuffers().reset(keyId.length());
+        json.ascii("{\"alg\":\"").ascii(algorithm(key)).ascii("\",\"kid\":").string(keyId).ascii("}");
+
+        var encoded = new byte[base64UrlLength(json.length) + 1];
+        var end = base64Url(json.payload, json.length, encoded, 0);
+        encoded[end] = '.';
+        this.header = encoded;
+    }
+
+    String encode(String type, UUID id, String subject, long issuedAtMillis, long expiresAtMillis) {
+        var buffers = acquire();
+
+        try {
+            buffers.reset(type.length() + subject.length());
+            claims(buffers, type, id, subject, issuedAtMillis, expiresAtMillis);
+
+            return buffers.ascii("}").sign(header);
+        } finally {
+            release(buffers);
+        }
+    }
+
+    String encode(
+            String type,
+            UUID id,
+            String subject,
+            long userId,
+            String role,
+            long securityVersion,
+            long issuedAtMillis,
+            long expiresAtMillis
+    ) {
+        var buffers = acquire();
+
+        try {
+            buffers.reset(type.length() + subject.length() + role.length());
+            claims(buffers, type, id, subject, issuedAtMillis, expiresAtMillis);
+
+            return buffers.ascii(USER_ID_FIELD).number(userId)
+                    .ascii(ROLE_FIELD).string(role)
+                    .ascii(SECURITY_VERSION_FIELD).number(securityVersion)
+                    .ascii("}")
+                    .sign(header);
+        } finally {
+            release(buffers);
+        }
+    }
+
+    private static void claims(
+            Buffers buffers,
+            String type,
+            UUID id,
+            String subject,
+            long issuedAtMillis,
+            long expiresAtMillis
+    ) {
+        buffers.ascii("{\"type\":").string(type)
+                .ascii(",\"jti\":").uuid(id)
+                .ascii(",\"sub\":").string(subject)
+                .ascii(",\"iat\":").number(issuedAtMillis / 1000)
+                .ascii(",\"exp\":").number(expiresAtMillis / 1000);
+    }
+
+    private Buffers acquire() {
+        var thread = Thread.currentThread();
+
+        if (!thread.isVirtual()) {
+            return buffers.get();
+        }
+
+        var start = (int) thread.threadId();
+
+        for (var i = 0; i < POOL_SIZE; i++) {
+            var slot = (start + i) & (POOL_SIZE - 1);
+
+            if (pool.get(slot) != null) {
+                var pooled = pool.getAndSet(slot, null);
+
+                if (pooled != null) {
+                    return pooled;
+                }
+            }
+        }
+
+        return newBuffers();
+    }
+
+    /**
+     * Returns a virtual thread's buffers to the first free slot; when the pool
+     * is full they are left to the garbage collector.
+     */
+    private void release(Buffers released) {
+        if (!Thread.currentThread().isVirtual()) {
+            return;
+        }
+
+        var start = (int) Thread.currentThread().threadId();
+
+        for (var i = 0; i < POOL_SIZE; i++) {
+            if (pool.compareAndSet((start + i) & (POOL_SIZE - 1), null, released)) {
+                return;
+            }
+        }
+    }
+
+    private Buffers newBuffers() {
+        try {
+            var mac = Mac.getInstance(key.getAlgorithm());
+            mac.init(key);
+            return new Buffers(mac);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise " + key.getAlgorithm(), e);
+        }
+    }
+
+    private static String algorithm(SecretKey key) {
+        return switch (key.getAlgorithm()) {
+            case "HmacSHA256" -> "HS256";
+            case "HmacSHA384" -> "HS384";
+            case "HmacSHA512" -> "HS512";
+            default -> throw new IllegalArgumentException("Unsupported HMAC algorithm " + key.getAlgorithm());
+        };
+    }
+
+    private static int base64UrlLength(int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    private static int base64Url(byte[] src, int length, byte[] dst, int offset) {
+        var i = 0;
+
+        for (; i + 3 <= length; i += 3) {
+            var bits = (src[i] & 0xff) << 16 | (src[i + 1] & 0xff) << 8 | src[i + 2] & 0xff;
+            dst[offset++] = BASE64_URL[bits >>> 18 & 0x3f];
+            dst[offset++] = BASE64_URL[bits >>> 12 & 0x3f];
+            dst[offset++] = BASE64_URL[bits >>> 6 & 0x3f];
+            dst[offset++] = BASE64_URL[bits & 0x3f];
+        }
+
+        if (i < length) {
+            var bits = (src[i] & 0xff) << 16 | (i + 1 < length ? (src[i + 1] & 0xff) << 8 : 0);
+            dst[offset++] = BASE64_URL[bits >>> 18 & 0x3f];
+            dst[offset++] = BASE64_URL[bits >>> 12 & 0x3f];
+
+            if (i + 1 < length) {
+                dst[offset++] = BASE64_URL[bits >>> 6 & 0x3f];
+            }
+        }
+
+        return offset;
+    }
+
+    /**
+     * Per-thread or pooled scratch space; the token buffer keeps this encoder's header
+     * segment in front so only the payload and signature are rewritten.
+     */
+    private static final class Buffers {
+        private final Mac mac;
+        private final byte[] signature;
+
+        private byte[] payload = new byte[INITIAL_PAYLOAD_CAPACITY];
+        private byte[] token = new byte[0];
+        private int length;
+
+        Buffers(Mac mac) {
+            this.mac = mac;
+            this.signature = new byte[mac.getMacLength()];
+        }
+
+        Buffers reset(int variableChars) {
+            var capacity = INITIAL_PAYLOAD_CAPACITY + variableChars * MAX_ESCAPED_CHAR_LENGTH;
+
+            if (payload.length < capacity) {
+                payload = new byte[capacity];
+            }
+
+            length = 0;
+            return this;
+        }
+
+        Buffers ascii(String value) {
+            for (var i = 0; i < value.length(); i++) {
+                payload[length++] = (byte) value.charAt(i);
+            }
+
+            return this;
+        }
+
+        Buffers string(String value) {
+            payload[length++] = '"';
+
+            for (var i = 0; i < value.length(); i++) {
+                var c = value.charAt(i);
+
+                if (c == '"' || c == '\\') {
+                    payload[length++] = '\\';
+                    payload[length++] = (byte) c;
+                } else if (c >= 0x20 && c < 0x7f) {
+                    payload[length++] = (byte) c;
+                } else {
+                    payload[length++] = '\\';
+                    payload[length++] = 'u';
+                    payload[length++] = HEX[c >>> 12 & 0xf];
+                    payload[length++] = HEX[c >>> 8 & 0xf];
+                    payload[length++] = HEX[c >>> 4 & 0xf];
+                    payload[length++] = HEX[c & 0xf];
+                }
+            }
+
+            payload[length++] = '"';
+            return this;
+        }
+
+        Buffers uuid(UUID value) {
+            payload[length++] = '"';
+            hex(value.getMostSignificantBits() >>> 32, 8);
+            payload[length++] = '-';
+            hex(value.getMostSignificantBits() >>> 16, 4);
+            payload[length++] = '-';
+            hex(value.getMostSignificantBits(), 4);
+            payload[length++] = '-';
+            hex(value.getLeastSignificantBits() >>> 48, 4);
+            payload[length++] = '-';
+            hex(value.getLeastSignificantBits(), 12);
+            payload[length++] = '"';
+            return this;
+        }
+
+        Buffers number(long value) {
+            var digits = 1;
+
+            for (var remaining = value; remaining >= 10; remaining /= 10) {
+                digits++;
+            }
+
+            for (var i = length + digits - 1; i >= length; i--) {
+                payload[i] = (byte) ('0' + value % 10);
+                value /= 10;
+            }
+
+            length += digits;
+            return this;
+        }
+
+        String sign(byte[] header) {
+            var capacity = header.length + base64UrlLength(length) + 1 + base64UrlLength(signature.length);
+
+            if (token.length < capacity) {
+                token = Arrays.copyOf(header, capacity);
+            }
+
+            var end = base64Url(payload, length, token, header.length);
+
+            try {
+                mac.update(token, 0, end);
+                mac.doFinal(signature, 0);
+            } catch (ShortBufferException e) {
+                throw new IllegalStateException(e);
+            }
+
+            token[end++] = '.';
+            end = base64Url(signature, signature.length, token, end);
+            return new String(token, 0, end, StandardCharsets.ISO_8859_1);
+        }
+
+        private void hex(long value, int digits) {
+            for (var i = digits - 1; i >= 0; i--) {
+                payload[length + i] = HEX[(int) (value & 0xf)];
+                value >>>= 4;
+            }
+
+            length += digits;
+        }
+    }
+}
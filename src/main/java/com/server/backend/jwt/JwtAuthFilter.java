@@ -1,6 +1,8 @@
 package com.server.backend.jwt;
 
-import com.server.backend.user.UserRepo;
+import com.server.backend.metrics.AuthMetrics;
+import com.server.backend.user.SecurityVersionRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,7 +11,9 @@ import lombok.RequiredArgsConstructor;
 import org.jspecify.annotations.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,9 +23,13 @@ import java.io.IOException;
 @Component
 @RequiredArgsConstructor
 public class JwtAuthFilter extends OncePerRequestFilter {
+    private static final String OPERATION = "filter";
+
     private final JwtService jwtService;
-    private final UserRepo userRepo;
     private final UserDetailsService userDetailsService;
+    private final AuthMetrics authMetrics;
+    private final JwtProperties properties;
+    private final SecurityVersionRegistry securityVersions;
 
     @Override
     protected void doFilterInternal(
@@ -29,44 +37,99 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
+        var outcome = authenticate(request);
+        authMetrics.operation(outcome.sample(), OPERATION, outcome.name());
+
+        filterChain.doFilter(request, response);
+    }
+
+    private Outcome authenticate(HttpServletRequest request) {
+        var total = authMetrics.start();
+        var sample = authMetrics.start();
         var authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+            authMetrics.stage(sample, OPERATION, "header", "absent");
+            return new Outcome(total, "anonymous");
         }
 
-        var token = authHeader.substring(7);
+        authMetrics.stage(sample, OPERATION, "header", "bearer");
+
+        sample = authMetrics.start();
+        var token = jwtService.verify(authHeader.substring(7)).orElse(null);
 
-        if (!jwtService.isAccessToken(token)) {
-            filterChain.doFilter(request, response);
-            return;
+        if (token == null || !token.isAccessToken()) {
+            authMetrics.stage(sample, OPERATION, "verify", token == null ? "invalid" : "wrong-type");
+            return new Outcome(total, "invalid-token");
         }
 
-        var username = jwtService.extractUsername(token);
+        authMetrics.stage(sample, OPERATION, "verify", "valid");
 
-        if (userRepo.findByUsername(username).isEmpty()) {
-            filterChain.doFilter(request, response);
-            return;
+        if (SecurityContextHolder.getContext().getAuthentication() != null) {
+            return new Outcome(total, "already-authenticated");
         }
 
-        if (SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailsService.loadUserByUsername(username);
+        if (properties.stateless().enabled()) {
+            sample = authMetrics.start();
+            var principal = jwtService.principalFromClaims(token).orElse(null);
 
-            if (jwtService.isTokenValid(token, userDetails)) {
-                var authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
-                        null,
-                        userDetails.getAuthorities()
-                );
+            if (principal != null) {
+                var current = securityVersions.isCurrent(principal.getId(), principal.getSecurityVersion());
+                authMetrics.stage(sample, OPERATION, "claims", current ? "current" : "stale");
 
-                authToken.setDetails(new WebAuthenticationDetailsSource()
-                        .buildDetails(request));
+                if (!current) {
+                    return new Outcome(total, "stale-version");
+                }
 
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                sample = authMetrics.start();
+                setAuthentication(request, principal);
+                authMetrics.stage(sample, OPERATION, "context", "authenticated");
+
+                return new Outcome(total, "authenticated-stateless");
             }
         }
 
-        filterChain.doFilter(request, response);
+        sample = authMetrics.start();
+        var userDetails = loadUser(token.subject());
+        authMetrics.stage(sample, OPERATION, "user-lookup", userDetails == null ? "not-found" : "found");
+
+        if (userDetails == null) {
+            return new Outcome(total, "unknown-user");
+        }
+
+        sample = authMetrics.start();
+
+        if (!jwtService.isTokenValid(token, userDetails)) {
+            authMetrics.stage(sample, OPERATION, "context", "rejected");
+            return new Outcome(total, "rejected");
+        }
+
+        setAuthentication(request, userDetails);
+        authMetrics.stage(sample, OPERATION, "context", "authenticated");
+
+        return new Outcome(total, "authenticated");
     }
+
+    private void setAuthentication(HttpServletRequest request, UserDetails userDetails) {
+        var authToken = new UsernamePasswordAuthenticationToken(
+                userDetails,
+                null,
+                userDetails.getAuthorities()
+        );
+
+        authToken.setDetails(new WebAuthenticationDetailsSource()
+                .buildDetails(request));
+
+        SecurityContextHolder.getContext().setAuthentication(authToken);
+    }
+
+    private UserDetails loadUser(String username) {
+        try {
+            return userDetailsService.loadUserByUsername(username);
+        } catch (UsernameNotFoundException e) {
+            return null;
+        }
+    }
+
+    private record Outcome(Timer.Sample sample, String name) {}
 }
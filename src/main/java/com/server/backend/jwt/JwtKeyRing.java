@@ -0,0 +1,267 @@
+package com.server.backend.jwt;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.InvalidKeyException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the keys used to sign and verify tokens, indexed by {@code kid}.
+ * <p>
+ * HMAC secrets come from configuration and the key ring file. Asymmetric
+ * keys (ES256, EdDSA) come from a keystore whose aliases are the key ids:
+ * private key entries can sign, certificate entries only verify. Public keys
+ * are published as a JWKS document so other services can verify locally.
+ * <p>
+ * Keys are derived once and swapped atomically on rotation, so the shared
+ * {@link JwtParser} never needs to be rebuilt. Tokens without a {@code kid}
+ * header are verified with the {@value #DEFAULT_KEY_ID} key.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private static final String ACTIVE_PROPERTY = "active";
+    private static final String KEY_PROPERTY_PREFIX = "keys.";
+
+    private final JwtProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JwtParser parser;
+
+    private volatile KeySet keySet;
+    private volatile FileTime keyRingModified;
+    private volatile FileTime keystoreModified;
+
+    public JwtKeyRing(JwtProperties properties, ApplicationEventPublisher eventPublisher) {
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.keySet = loadKeySet();
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keySet.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
+    public JwtParser parser() {
+        return parser;
+    }
+
+    public SigningKey signingKey() {
+        return keySet.signingKey();
+    }
+
+    public String jwks() {
+        return keySet.jwks();
+    }
+
+    /**
+     * @return the fast encoder for the active key, or {@code null} when the
+     * active key is not an HMAC secret
+     */
+    HmacTokenEncoder tokenEncoder() {
+        return keySet.tokenEncoder();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.key-ring-refresh-interval:30s}")
+    public void reloadIfChanged() {
+        var keyRing = keyRingLocation();
+        var keystore = keystoreLocation();
+
+        try {
+            var changed = keyRing != null && !Files.getLastModifiedTime(keyRing).equals(keyRingModified)
+                    || keystore != null && !Files.getLastModifiedTime(keystore).equals(keystoreModified);
+
+            if (changed) {
+                keySet = loadKeySet();
+                eventPublisher.publishEvent(new JwtKeyRingReloadedEvent(keySet.signingKey().id()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to reload JWT keys, keeping current keys", e);
+        }
+    }
+
+    private KeySet loadKeySet() {
+        var keys = new HashMap<String, KeyEntry>();
+        var activeKeyId = properties.activeKeyId();
+
+        if (properties.secret() != null && !properties.secret().isBlank()) {
+            keys.put(DEFAULT_KEY_ID, KeyEntry.hmac(properties.secret()));
+        }
+
+        properties.keys().forEach((id, secret) -> keys.put(id, KeyEntry.hmac(secret)));
+
+        var keyRingLocation = keyRingLocation();
+
+        if (keyRingLocation != null) {
+            var keyRing = readKeyRing(keyRingLocation);
+            activeKeyId = keyRing.getProperty(ACTIVE_PROPERTY, activeKeyId);
+
+            for (var name : keyRing.stringPropertyNames()) {
+                if (name.startsWith(KEY_PROPERTY_PREFIX)) {
+                    keys.put(name.substring(KEY_PROPERTY_PREFIX.length()), KeyEntry.hmac(keyRing.getProperty(name)));
+                }
+            }
+        }
+
+        var keystoreLocation = keystoreLocation();
+
+        if (keystoreLocation != null) {
+            keys.putAll(readKeystore(keystoreLocation));
+        }
+
+        var loaded = KeySet.of(activeKeyId, keys);
+        log.info("JWT key ring loaded, active key '{}' ({}), {} key(s) available, {} published",
+                activeKeyId, loaded.signingKey().key().getAlgorithm(), keys.size(), loaded.publicKeyCount());
+        return loaded;
+    }
+
+    private Properties readKeyRing(Path location) {
+        try (InputStream in = Files.newInputStream(location)) {
+            var modified = Files.getLastModifiedTime(location);
+            var keyRing = new Properties();
+            keyRing.load(in);
+            keyRingModified = modified;
+            return keyRing;
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot read JWT key ring " + location, e);
+        }
+    }
+
+    private Map<String, KeyEntry> readKeystore(Path location) {
+        var keystoreProperties = properties.keystore();
+        var password = keystoreProperties.password() == null
+                ? null
+                : keystoreProperties.password().toCharArray();
+
+        try (InputStream in = Files.newInputStream(location)) {
+            var modified = Files.getLastModifiedTime(location);
+            var keystore = KeyStore.getInstance(keystoreProperties.type());
+            keystore.load(in, password);
+
+            var keys = new HashMap<String, KeyEntry>();
+
+            for (var alias : Collections.list(keystore.aliases())) {
+                var certificate = keystore.getCertificate(alias);
+
+                if (certificate == null) {
+                    continue;
+                }
+
+                var privateKey = keystore.isKeyEntry(alias)
+                        ? (PrivateKey) keystore.getKey(alias, password)
+                        : null;
+                keys.put(alias, new KeyEntry(privateKey, certificate.getPublicKey()));
+            }
+
+            keystoreModified = modified;
+            return keys;
+        } catch (IOException | GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot read JWT keystore " + location, e);
+        }
+    }
+
+    private Path keyRingLocation() {
+        return path(properties.keyRingLocation());
+    }
+
+    private Path keystoreLocation() {
+        return path(properties.keystore().location());
+    }
+
+    private static Path path(String location) {
+        return location == null || location.isBlank() ? null : Path.of(location);
+    }
+
+    public record SigningKey(String id, Key key) {}
+
+    private record KeyEntry(Key signingKey, Key verificationKey) {
+        static KeyEntry hmac(String secret) {
+            var key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            return new KeyEntry(key, key);
+        }
+    }
+
+    private record KeySet(
+            SigningKey signingKey,
+            HmacTokenEncoder tokenEncoder,
+            Map<String, Key> keys,
+            String jwks,
+            int publicKeyCount
+    ) {
+        static KeySet of(String activeKeyId, Map<String, KeyEntry> entries) {
+            var active = entries.get(activeKeyId);
+
+            if (active == null || active.signingKey() == null) {
+                throw new IllegalStateException("No JWT signing key configured for active key id '" + activeKeyId + "'");
+            }
+
+            var keys = entries.entrySet().stream()
+                    .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> entry.getValue().verificationKey()));
+
+            var publicKeys = new TreeMap<String, PublicKey>();
+            keys.forEach((id, key) -> {
+                if (key instanceof PublicKey publicKey) {
+                    publicKeys.put(id, publicKey);
+                }
+            });
+
+            var jwks = publicKeys.entrySet().stream()
+                    .map(entry -> Jwks.json(Jwks.builder().key(entry.getValue()).id(entry.getKey()).publicKeyUse("sig").build()))
+                    .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+
+            var tokenEncoder = active.signingKey() instanceof SecretKey secretKey
+                    ? new HmacTokenEncoder(activeKeyId, secretKey)
+                    : null;
+
+            return new KeySet(
+                    new SigningKey(activeKeyId, active.signingKey()),
+                    tokenEncoder,
+                    keys,
+                    jwks,
+                    publicKeys.size()
+            );
+        }
+
+        Key verificationKey(String keyId) {
+            var key = keys.get(keyId == null ? DEFAULT_KEY_ID : keyId);
+
+            if (key == null) {
+                throw new InvalidKeyException("Unknown JWT key id: " + keyId);
+            }
+
+            return key;
+        }
+    }
+}
@@ -0,0 +1,3 @@
+package com.server.backend.jwt;
+
+public record JwtKeyRingReloadedEvent(String activeKeyId) {}
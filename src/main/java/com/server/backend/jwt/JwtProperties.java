@@ -0,0 +1,37 @@
+package com.server.backend.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties("jwt")
+public record JwtProperties(
+        String secret,
+        @DefaultValue(JwtKeyRing.DEFAULT_KEY_ID) String activeKeyId,
+        @DefaultValue Map<String, String> keys,
+        String keyRingLocation,
+        @DefaultValue("30s") Duration keyRingRefreshInterval,
+        @DefaultValue Keystore keystore,
+        @DefaultValue("5m") Duration jwksMaxAge,
+        @DefaultValue Cache cache,
+        @DefaultValue Stateless stateless
+) {
+    public record Keystore(
+            String location,
+            String password,
+            @DefaultValue("PKCS12") String type
+    ) {}
+
+    public record Cache(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("10000") long maxSize
+    ) {}
+
+    public record Stateless(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("30s") Duration versionTtl,
+            @DefaultValue("100000") long maxSize
+    ) {}
+}
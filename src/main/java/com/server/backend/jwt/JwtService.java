@@ -1,108 +1,179 @@
 package com.server.backend.jwt;
 
+import com.server.backend.token.revocation.TokenRevocationService;
+import com.server.backend.user.User;
+import com.server.backend.user.UserRole;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.Optional;
+import java.util.UUID;
 
 @Service
+@RequiredArgsConstructor
 public class JwtService {
     private static final String TOKEN_TYPE = "type";
 
-    private static final String ACCESS_TOKEN_TYPE = "access";
-    private static final String REFRESH_TOKEN_TYPE = "refresh";
+    static final String USER_ID_CLAIM = "uid";
+    static final String ROLE_CLAIM = "role";
+    static final String SECURITY_VERSION_CLAIM = "sv";
 
-    private final long accessExpiration = Duration.ofMinutes(5).toMillis();
-    private final long refreshExpiration = Duration.ofMinutes(15).toMillis();
+    static final String ACCESS_TOKEN_TYPE = "access";
+    static final String REFRESH_TOKEN_TYPE = "refresh";
+
+    public static final Duration ACCESS_TOKEN_LIFETIME = Duration.ofMinutes(5);
+    public static final Duration REFRESH_TOKEN_LIFETIME = Duration.ofMinutes(15);
+
+    private final JwtKeyRing keyRing;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final JwtProperties properties;
+
+    private final long accessExpiration = ACCESS_TOKEN_LIFETIME.toMillis();
+    private final long refreshExpiration = REFRESH_TOKEN_LIFETIME.toMillis();
 
     public String generateAccessToken(UserDetails userDetails) {
-        Map<String, Object> claims = new HashMap<>();
-        claims.put(TOKEN_TYPE, ACCESS_TOKEN_TYPE);
-        return createToken(claims, userDetails, accessExpiration);
+        return createToken(ACCESS_TOKEN_TYPE, userDetails, accessExpiration);
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
+        return createToken(REFRESH_TOKEN_TYPE, userDetails, refreshExpiration);
+    }
+
+    public TokenPair generateTokenPair(UserDetails userDetails) {
+        return new TokenPair(generateAccessToken(userDetails), generateRefreshToken(userDetails));
+    }
+
+    /**
+     * Refresh tokens always carry the principal claims, so rotation can check
+     * the security version without loading the user; access tokens only do in
+     * stateless mode.
+     */
+    private String createToken(String type, UserDetails userDetails, long expiration) {
+        if ((properties.stateless().enabled() || REFRESH_TOKEN_TYPE.equals(type))
+                && userDetails instanceof User user) {
+            return createToken(type, user, expiration);
+        }
+
+        return createToken(type, userDetails.getUsername(), expiration);
+    }
+
+    private String createToken(String type, User user, long expiration) {
+        var tokenEncoder = keyRing.tokenEncoder();
+
+        if (tokenEncoder != null) {
+            var now = System.currentTimeMillis();
+            return tokenEncoder.encode(
+                    type,
+                    UUID.randomUUID(),
+                    user.getUsername(),
+                    user.getId(),
+                    user.getRole().name(),
+                    user.getSecurityVersion(),
+                    now,
+                    now + expiration
+            );
+        }
+
         Map<String, Object> claims = new HashMap<>();
-        claims.put(TOKEN_TYPE, REFRESH_TOKEN_TYPE);
-        return createToken(claims, userDetails, refreshExpiration);
+        claims.put(TOKEN_TYPE, type);
+        claims.put(USER_ID_CLAIM, user.getId());
+        claims.put(ROLE_CLAIM, user.getRole().name());
+        claims.put(SECURITY_VERSION_CLAIM, user.getSecurityVersion());
+        return createToken(claims, user.getUsername(), expiration);
+    }
+
+    private String createToken(String type, String subject, long expiration) {
+        var tokenEncoder = keyRing.tokenEncoder();
+
+        if (tokenEncoder == null) {
+            return createToken(Map.of(TOKEN_TYPE, type), subject, expiration);
+        }
+
+        var now = System.currentTimeMillis();
+        return tokenEncoder.encode(type, UUID.randomUUID(), subject, now, now + expiration);
     }
 
     private String createToken(
             Map<String, Object> extraClaims,
-            UserDetails userDetails,
+            String subject,
             long expiration
     ) {
+        var signingKey = keyRing.signingKey();
+        var now = System.currentTimeMillis();
+
         return Jwts.builder()
                 .claims(extraClaims)
-                .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
-                .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .id(UUID.randomUUID().toString())
+                .subject(subject)
+                .issuedAt(new Date(now))
+                .expiration(new Date(now + expiration))
+                .header().keyId(signingKey.id()).and()
+                .signWith(signingKey.key())
                 .compact();
     }
 
-    public boolean isAccessToken(String token) {
-        String type = extractClaim(token, claims -> claims.get(TOKEN_TYPE, String.class));
-        return ACCESS_TOKEN_TYPE.equals(type);
-    }
-
-    public boolean isRefreshToken(String token) {
-        String type = extractClaim(token, claims -> claims.get(TOKEN_TYPE, String.class));
-        return REFRESH_TOKEN_TYPE.equals(type);
-    }
-
-    public boolean isTokenValid(String token, UserDetails userDetails) {
-        return isTokenUsernameValid(token, userDetails) && !isTokenExpired(token);
+    public String jwks() {
+        return keyRing.jwks();
     }
 
-    public boolean isTokenUsernameValid(String token, UserDetails userDetails) {
-        String username = extractUsername(token);
-        return username.equals(userDetails.getUsername());
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null || token.isBlank()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(verifiedTokenCache.get(token, this::parseVerifiedToken))
+                    .filter(verified -> !tokenRevocationService.isRevoked(verified));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public Optional<User> principalFromClaims(VerifiedToken token) {
+        var userId = token.claim(USER_ID_CLAIM, Long.class);
+        var role = token.claim(ROLE_CLAIM, String.class);
+        var securityVersion = token.claim(SECURITY_VERSION_CLAIM, Long.class);
+
+        if (userId == null || role == null || securityVersion == null) {
+            return Optional.empty();
+        }
+
+        return Optional.of(User.builder()
+                .Id(userId)
+                .username(token.subject())
+                .role(UserRole.valueOf(role))
+                .securityVersion(securityVersion)
+                .build());
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
-    }
-
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private VerifiedToken parseVerifiedToken(String token) {
+        var claims = extractAllClaims(token);
+        return new VerifiedToken(
+                claims.getId(),
+                claims.get(TOKEN_TYPE, String.class),
+                claims.getSubject(),
+                claims.getIssuedAt(),
+                claims.getExpiration(),
+                claims
+        );
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return keyRing.parser()
                 .parseSignedClaims(token)
                 .getPayload();
     }
-
-    private SecretKey getSignInKey() {
-        var keyBytes = Base64.getDecoder().decode(getSecretKey());
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
-    private String getSecretKey() {
-        var key = System.getenv("JWT_SECRET_KEY");
-        return Base64.getEncoder()
-                .encodeToString(key.getBytes(StandardCharsets.UTF_8));
-    }
 }
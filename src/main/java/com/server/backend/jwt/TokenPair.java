@@ -0,0 +1,6 @@
+package com.server.backend.jwt;
+
+public record TokenPair(
+        String accessToken,
+        String refreshToken
+) {}
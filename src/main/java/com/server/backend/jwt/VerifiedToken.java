@@ -0,0 +1,30 @@
+package com.server.backend.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+
+public record VerifiedToken(
+        String id,
+        String type,
+        String subject,
+        Date issuedAt,
+        Date expiration,
+        Claims claims
+) {
+    public boolean isAccessToken() {
+        return JwtService.ACCESS_TOKEN_TYPE.equals(type);
+    }
+
+    public boolean isRefreshToken() {
+        return JwtService.REFRESH_TOKEN_TYPE.equals(type);
+    }
+
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+
+    public <T> T claim(String name, Class<T> requiredType) {
+        return claims.get(name, requiredType);
+    }
+}
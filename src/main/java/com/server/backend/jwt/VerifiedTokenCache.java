@@ -0,0 +1,74 @@
+package com.server.backend.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Remembers tokens that already passed signature verification, keyed by the
+ * SHA-256 digest of the compact token. Entries never outlive the token's
+ * {@code exp} claim and the whole cache is dropped when the key ring reloads.
+ */
+@Component
+public class VerifiedTokenCache {
+    private static final String METRIC_NAME = "jwt.verified-tokens";
+
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtProperties properties, MeterRegistry meterRegistry) {
+        var settings = properties.cache();
+
+        if (!settings.enabled()) {
+            this.cache = null;
+            return;
+        }
+
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.maxSize())
+                .expireAfter(Expiry.creating((TokenDigest digest, VerifiedToken token) ->
+                        Duration.between(Instant.now(), token.expiration().toInstant())))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_NAME);
+    }
+
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (cache == null) {
+            return verifier.apply(token);
+        }
+
+        return cache.get(TokenDigest.of(token), digest -> verifier.apply(token));
+    }
+
+    @EventListener(JwtKeyRingReloadedEvent.class)
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    private record TokenDigest(long a, long b, long c, long d) {
+        static TokenDigest of(String token) {
+            try {
+                var hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                        .digest(token.getBytes(StandardCharsets.US_ASCII)));
+                return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
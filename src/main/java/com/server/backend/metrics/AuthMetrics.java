@@ -0,0 +1,38 @@
+package com.server.backend.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times the authentication pipeline. Stage timers split an operation into
+ * its parts (token parsing, user lookup, password hashing, ...) and operation
+ * timers cover the whole call. Both are tagged with the outcome, so their
+ * counts double as outcome counters.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthMetrics {
+    public static final String STAGE_METRIC = "auth.stage";
+    public static final String OPERATION_METRIC = "auth.operation";
+
+    private final MeterRegistry meterRegistry;
+
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stage(Timer.Sample sample, String operation, String stage, String outcome) {
+        sample.stop(meterRegistry.timer(STAGE_METRIC,
+                "operation", operation,
+                "stage", stage,
+                "outcome", outcome));
+    }
+
+    public void operation(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(meterRegistry.timer(OPERATION_METRIC,
+                "operation", operation,
+                "outcome", outcome));
+    }
+}
@@ -0,0 +1,54 @@
+package com.server.backend.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * Picks the highest BCrypt cost whose single-hash latency on this machine
+ * stays within the configured budget. The minimum strength is a floor and is
+ * used even when it is already over budget.
+ */
+@Slf4j
+public final class BcryptStrengthCalibrator {
+    private static final String SAMPLE_PASSWORD = "bcrypt-calibration-sample";
+    private static final int SAMPLES = 3;
+
+    private BcryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(PasswordHashingProperties.Calibration calibration) {
+        var budget = calibration.targetLatency();
+        var chosen = calibration.minStrength();
+
+        new BCryptPasswordEncoder(calibration.minStrength()).encode(SAMPLE_PASSWORD);
+
+        for (var strength = calibration.minStrength(); strength <= calibration.maxStrength(); strength++) {
+            var latency = measure(strength);
+            log.info("BCrypt strength {} takes {} ms per hash", strength, latency.toMillis());
+
+            if (latency.compareTo(budget) > 0) {
+                break;
+            }
+
+            chosen = strength;
+        }
+
+        log.info("Calibrated BCrypt strength {} for a {} ms budget", chosen, budget.toMillis());
+        return chosen;
+    }
+
+    private static Duration measure(int strength) {
+        var encoder = new BCryptPasswordEncoder(strength);
+        var best = Long.MAX_VALUE;
+
+        for (var i = 0; i < SAMPLES; i++) {
+            var start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+
+        return Duration.ofNanos(best);
+    }
+}
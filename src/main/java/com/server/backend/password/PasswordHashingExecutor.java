@@ -0,0 +1,111 @@
+package com.server.backend.password;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt work on a fixed number of threads with a bounded queue, so
+ * hashing bursts cannot occupy every request thread. Work that does not fit
+ * in the queue is rejected immediately with
+ * {@link PasswordHashingUnavailableException}.
+ */
+public class PasswordHashingExecutor implements AutoCloseable {
+    private static final String METRIC_NAME = "password.hashing";
+
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final Counter rejected;
+
+    public PasswordHashingExecutor(PasswordHashingProperties properties, MeterRegistry meterRegistry) {
+        this.threads = properties.effectiveThreads();
+        var threadNumber = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.queueCapacity()),
+                task -> {
+                    var thread = new Thread(task, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.rejected = Counter.builder(METRIC_NAME + ".rejected")
+                .description("Password hashing tasks rejected because the queue was full")
+                .register(meterRegistry);
+
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, METRIC_NAME);
+    }
+
+    public <T> T execute(Supplier<T> task) {
+        return await(submit(task));
+    }
+
+    /**
+     * Runs the tasks in parallel, never queueing more than one task per hashing
+     * thread at a time so a large batch cannot fill the queue on its own.
+     */
+    public <T> List<T> executeAll(List<Supplier<T>> tasks) {
+        var results = new ArrayList<T>(tasks.size());
+
+        for (var start = 0; start < tasks.size(); start += threads) {
+            var window = tasks.subList(start, Math.min(start + threads, tasks.size()));
+            var futures = new ArrayList<Future<T>>(window.size());
+
+            try {
+                for (var task : window) {
+                    futures.add(submit(task));
+                }
+            } catch (PasswordHashingUnavailableException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+
+            for (var future : futures) {
+                results.add(await(future));
+            }
+        }
+
+        return results;
+    }
+
+    private <T> Future<T> submit(Supplier<T> task) {
+        try {
+            return executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingUnavailableException("Password hashing capacity exhausted");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingUnavailableException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,27 @@
+package com.server.backend.password;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("security.password-hashing")
+public record PasswordHashingProperties(
+        @DefaultValue("0") int threads,
+        @DefaultValue("64") int queueCapacity,
+        @DefaultValue("10") int bcryptStrength,
+        @DefaultValue Calibration calibration
+) {
+    public int effectiveThreads() {
+        return threads > 0
+                ? threads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    public record Calibration(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("250ms") Duration targetLatency,
+            @DefaultValue("10") int minStrength,
+            @DefaultValue("16") int maxStrength
+    ) {}
+}
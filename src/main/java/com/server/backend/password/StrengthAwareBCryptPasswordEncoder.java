@@ -0,0 +1,32 @@
+package com.server.backend.password;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder that asks for a rehash whenever a stored hash uses a
+ * different cost than the configured one, so hashes move both up and down
+ * to the current strength on the next successful login.
+ */
+public class StrengthAwareBCryptPasswordEncoder extends BCryptPasswordEncoder {
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abxy]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    public StrengthAwareBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        var matcher = BCRYPT_COST.matcher(encodedPassword);
+
+        if (!matcher.find()) {
+            return super.upgradeEncodingNonNull(encodedPassword);
+        }
+
+        return Integer.parseInt(matcher.group(1)) != strength;
+    }
+}
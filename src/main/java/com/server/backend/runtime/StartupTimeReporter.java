@@ -0,0 +1,70 @@
+package com.server.backend.runtime;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports time from JVM start to application ready and to the first handled
+ * request, together with whether AOT artifacts and a CDS archive were in use,
+ * so fast-startup builds can be compared against plain ones.
+ */
+@Slf4j
+@Component
+public class StartupTimeReporter {
+    private static final String FIRST_REQUEST_METRIC = "application.first.request.time";
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final AtomicBoolean firstRequestHandled = new AtomicBoolean();
+
+    private volatile double firstRequestMillis = Double.NaN;
+
+    public StartupTimeReporter(MeterRegistry meterRegistry) {
+        TimeGauge.builder(FIRST_REQUEST_METRIC, this, TimeUnit.MILLISECONDS, reporter -> reporter.firstRequestMillis)
+                .description("Time from JVM start until the first request was handled")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    void onReady(ApplicationReadyEvent event) {
+        log.info("Ready {} ms after JVM start (context startup {} ms, AOT: {}, CDS archive: {})",
+                System.currentTimeMillis() - jvmStartMillis,
+                event.getTimeTaken().toMillis(),
+                AotDetector.useGeneratedArtifacts(),
+                sharedArchive());
+    }
+
+    @EventListener
+    void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestHandled.get() || !firstRequestHandled.compareAndSet(false, true)) {
+            return;
+        }
+
+        var elapsed = event.getTimestamp() - jvmStartMillis;
+        firstRequestMillis = elapsed;
+
+        log.info("First request ({} {}) handled {} ms after JVM start",
+                event.getMethod(), event.getRequestUrl(), elapsed);
+    }
+
+    private static String sharedArchive() {
+        try {
+            var archive = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                    .getVMOption("SharedArchiveFile")
+                    .getValue();
+            return archive.isEmpty() ? "default" : archive;
+        } catch (IllegalArgumentException e) {
+            return "unknown";
+        }
+    }
+}
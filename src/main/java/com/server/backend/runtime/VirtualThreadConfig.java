@@ -0,0 +1,60 @@
+package com.server.backend.runtime;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(
+            ObjectProvider<VirtualThreadProperties> properties,
+            ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+
+                var settings = properties.getObject();
+                var maxConcurrency = settings.maxDatabaseConcurrency() > 0
+                        ? settings.maxDatabaseConcurrency()
+                        : bean instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+
+                var limited = new ConnectionLimitingDataSource(dataSource, maxConcurrency, settings.databaseAcquireTimeout());
+
+                meterRegistry.ifAvailable(registry -> {
+                    Gauge.builder("database.access.permits.available", limited,
+                                    ConnectionLimitingDataSource::availablePermits)
+                            .register(registry);
+                    Gauge.builder("database.access.permits.waiting", limited,
+                                    ConnectionLimitingDataSource::queueLength)
+                            .register(registry);
+                });
+
+                return limited;
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            VirtualThreadProperties properties,
+            MeterRegistry meterRegistry
+    ) {
+        return new VirtualThreadPinningMonitor(properties.pinningThreshold(), meterRegistry);
+    }
+}
@@ -0,0 +1,102 @@
+package com.server.backend.runtime;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} JFR events and counts them by the
+ * code path that pinned the carrier thread: JDBC (driver and pool), BCrypt,
+ * or anything else.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String METRIC_NAME = "jvm.threads.virtual.pinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final Duration threshold;
+    private final Counter jdbcPinned;
+    private final Counter bcryptPinned;
+    private final Counter otherPinned;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.jdbcPinned = pinnedCounter(meterRegistry, "jdbc");
+        this.bcryptPinned = pinnedCounter(meterRegistry, "bcrypt");
+        this.otherPinned = pinnedCounter(meterRegistry, "other");
+    }
+
+    @Override
+    public synchronized void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        var frames = event.getStackTrace() == null ? List.<RecordedFrame>of() : event.getStackTrace().getFrames();
+        var path = classify(frames);
+
+        switch (path) {
+            case "jdbc" -> jdbcPinned.increment();
+            case "bcrypt" -> bcryptPinned.increment();
+            default -> otherPinned.increment();
+        }
+
+        log.warn("Virtual thread pinned for {} ms in {} path at {}",
+                event.getDuration().toMillis(),
+                path,
+                frames.stream()
+                        .limit(LOGGED_FRAMES)
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                        .collect(Collectors.joining(" <- ")));
+    }
+
+    private static String classify(List<RecordedFrame> frames) {
+        for (var frame : frames) {
+            var type = frame.getMethod().getType().getName();
+
+            if (type.startsWith("org.mariadb.") || type.startsWith("com.zaxxer.hikari.") || type.startsWith("java.sql.")) {
+                return "jdbc";
+            }
+
+            if (type.startsWith("org.springframework.security.crypto.bcrypt.")) {
+                return "bcrypt";
+            }
+        }
+
+        return "other";
+    }
+
+    private static Counter pinnedCounter(MeterRegistry meterRegistry, String path) {
+        return Counter.builder(METRIC_NAME)
+                .description("Virtual thread pinning events above the configured threshold")
+                .tag("path", path)
+                .register(meterRegistry);
+    }
+}
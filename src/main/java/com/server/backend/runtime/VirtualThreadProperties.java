@@ -0,0 +1,13 @@
+package com.server.backend.runtime;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("virtual-threads")
+public record VirtualThreadProperties(
+        @DefaultValue("0") int maxDatabaseConcurrency,
+        @DefaultValue("30s") Duration databaseAcquireTimeout,
+        @DefaultValue("20ms") Duration pinningThreshold
+) {}
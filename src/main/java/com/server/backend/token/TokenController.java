@@ -1,12 +1,19 @@
 package com.server.backend.token;
 
 import com.server.backend.token.dto.request.TokenRequest;
+import com.server.backend.token.dto.request.ValidateTokensRequest;
+import com.server.backend.token.dto.response.RevokeTokenResponse;
+import com.server.backend.token.dto.response.TokenPairResponse;
 import com.server.backend.token.dto.response.TokenResponse;
 import com.server.backend.token.dto.response.ValidateTokenResponse;
+import com.server.backend.token.dto.response.ValidateTokensResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,13 +23,45 @@ import org.springframework.web.bind.annotation.RestController;
 public class TokenController {
     private final TokenService tokenService;
 
+    /**
+     * Echo-only: see {@link TokenService#refreshToken(TokenRequest)}. Use
+     * {@code /rotate} to obtain a new token pair.
+     */
+    @Deprecated
     @PostMapping("/refresh-token")
     public ResponseEntity<TokenResponse> refreshToken(@RequestBody TokenRequest request) {
         return tokenService.refreshToken(request);
     }
 
+    @PostMapping("/rotate")
+    public ResponseEntity<TokenPairResponse> rotateTokens(@RequestBody TokenRequest request) {
+        return tokenService.rotateTokens(request);
+    }
+
     @PostMapping("/validate-token")
     public ResponseEntity<ValidateTokenResponse> validateToken(@RequestBody TokenRequest request) {
         return tokenService.validateToken(request);
     }
+
+    @PostMapping("/validate-tokens")
+    public ResponseEntity<ValidateTokensResponse> validateTokens(@RequestBody ValidateTokensRequest request) {
+        return tokenService.validateTokens(request);
+    }
+
+    @GetMapping("/jwks")
+    public ResponseEntity<String> jwks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return tokenService.jwks(ifNoneMatch);
+    }
+
+    @PostMapping("/revoke")
+    public ResponseEntity<RevokeTokenResponse> revokeToken(@RequestBody TokenRequest request) {
+        return tokenService.revokeToken(request);
+    }
+
+    @PostMapping("/revoke-all")
+    public ResponseEntity<RevokeTokenResponse> revokeAllSessions(@RequestBody TokenRequest request) {
+        return tokenService.revokeAllSessions(request);
+    }
 }
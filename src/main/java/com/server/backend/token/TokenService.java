@@ -1,92 +1,296 @@
 package com.server.backend.token;
 
+import com.server.backend.audit.AuditAction;
+import com.server.backend.audit.AuditLog;
+import com.server.backend.jwt.JwtProperties;
 import com.server.backend.jwt.JwtService;
+import com.server.backend.jwt.VerifiedToken;
+import com.server.backend.metrics.AuthMetrics;
 import com.server.backend.token.dto.request.TokenRequest;
+import com.server.backend.token.dto.request.ValidateTokensRequest;
+import com.server.backend.token.dto.response.RevokeTokenResponse;
+import com.server.backend.token.dto.response.TokenPairResponse;
 import com.server.backend.token.dto.response.TokenResponse;
 import com.server.backend.token.dto.response.ValidateTokenResponse;
+import com.server.backend.token.dto.response.ValidateTokensResponse;
+import com.server.backend.token.revocation.TokenRevocationService;
+import com.server.backend.user.CachedUserDetailsService;
+import com.server.backend.user.SecurityVersionRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class TokenService {
-    private final UserDetailsService userDetailsService;
+    public static final int MAX_VALIDATION_BATCH_SIZE = 500;
+
+    private static final MediaType JWK_SET = MediaType.parseMediaType("application/jwk-set+json");
+
+    private static final String REFRESH = "token-refresh";
+    private static final String ROTATE = "token-rotate";
+    private static final String VALIDATE = "token-validate";
+    private static final String VALIDATE_BATCH = "token-validate-batch";
+    private static final String REVOKE = "token-revoke";
+    private static final String REVOKE_ALL = "token-revoke-all";
+
+    private final CachedUserDetailsService userDetailsService;
     private final JwtService jwtService;
+    private final JwtProperties jwtProperties;
+    private final TokenRevocationService tokenRevocationService;
+    private final SecurityVersionRegistry securityVersions;
+    private final AuthMetrics authMetrics;
+    private final AuditLog auditLog;
 
+    /**
+     * Checks a still-valid token and echoes it back. Expired tokens fail
+     * verification, so nothing is ever re-issued here; clients obtain new
+     * tokens from {@link #rotateTokens(TokenRequest)}.
+     */
+    @Deprecated
     public ResponseEntity<TokenResponse> refreshToken(TokenRequest request) {
-
+        var total = authMetrics.start();
         var token = request.token();
+        var verifiedToken = jwtService.verify(token).orElse(null);
 
-        var userDetails = getUserDetailsFromToken(token);
+        var userDetails = getUserDetailsFromToken(verifiedToken);
 
         if (userDetails == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            auditLog.record(AuditAction.TOKEN_REFRESH, subject(verifiedToken), "invalid");
+            return record(total, REFRESH, "invalid", ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new TokenResponse(
                             token,
                             "Token is invalid!"
-                    ));
+                    )));
         }
 
-        if (!jwtService.isTokenUsernameValid(token, userDetails) && !jwtService.isRefreshToken(token)) {
-            return ResponseEntity
+        if (!verifiedToken.subject().equals(userDetails.getUsername()) && !verifiedToken.isRefreshToken()) {
+            auditLog.record(AuditAction.TOKEN_REFRESH, subject(verifiedToken), "invalid");
+            return record(total, REFRESH, "invalid", ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
                     .body(new TokenResponse(
                             token,
-                            "Token is invalid!"));
+                            "Token is invalid!")));
         }
 
-        if (jwtService.isTokenExpired(token)) {
-            var type = request.type().isBlank() ? "refresh" : request.type();
+        auditLog.record(AuditAction.TOKEN_REFRESH, subject(verifiedToken), "unchanged");
+        return record(total, REFRESH, "unchanged", ResponseEntity.ok(new TokenResponse(
+                token,
+                "Token refreshed successful!"
+        )));
+    }
 
-            token = type.equals("access")
-                    ? jwtService.generateAccessToken(userDetails)
-                    : jwtService.generateRefreshToken(userDetails);
+    /**
+     * Exchanges a refresh token for a new pair. The token must carry a
+     * {@code jti} and the principal claims, its security version must still
+     * be current, and it is revoked with an atomic claim before the new pair
+     * is issued, so each refresh token rotates at most once.
+     */
+    public ResponseEntity<TokenPairResponse> rotateTokens(TokenRequest request) {
+        var total = authMetrics.start();
+        var verifiedToken = jwtService.verify(request.token()).orElse(null);
+
+        var principal = verifiedToken == null || !verifiedToken.isRefreshToken() || verifiedToken.id() == null
+                ? null
+                : jwtService.principalFromClaims(verifiedToken).orElse(null);
+
+        if (principal == null) {
+            return rotationRejected(total, verifiedToken, "invalid");
         }
 
-        return ResponseEntity.ok(new TokenResponse(
-                token,
-                "Token refreshed successful!"
-        ));
+        if (!securityVersions.isCurrent(principal.getId(), principal.getSecurityVersion())) {
+            return rotationRejected(total, verifiedToken, "stale-version");
+        }
+
+        if (!tokenRevocationService.claim(verifiedToken)) {
+            return rotationRejected(total, verifiedToken, "reused");
+        }
+
+        var tokens = jwtService.generateTokenPair(principal);
+
+        auditLog.record(AuditAction.TOKEN_ROTATE, subject(verifiedToken), "rotated");
+        return record(total, ROTATE, "rotated", ResponseEntity.ok(new TokenPairResponse(
+                tokens.accessToken(),
+                tokens.refreshToken(),
+                "Tokens rotated successfully!"
+        )));
+    }
+
+    private ResponseEntity<TokenPairResponse> rotationRejected(
+            Timer.Sample total,
+            VerifiedToken verifiedToken,
+            String outcome
+    ) {
+        auditLog.record(AuditAction.TOKEN_ROTATE, subject(verifiedToken), outcome);
+        return record(total, ROTATE, outcome, ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                .body(new TokenPairResponse(null, null, "Token is invalid!")));
     }
 
     public ResponseEntity<ValidateTokenResponse> validateToken(TokenRequest request) {
-        var token = request.token();
-        var userDetails = getUserDetailsFromToken(token);
+        var total = authMetrics.start();
+        var verifiedToken = jwtService.verify(request.token()).orElse(null);
+        var userDetails = getUserDetailsFromToken(verifiedToken);
 
         if (userDetails == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+            return record(total, VALIDATE, "invalid", ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ValidateTokenResponse(
                             false,
                             "Token is invalid"
-                    ));
+                    )));
         }
 
-        var isTokenValid = jwtService.isTokenValid(token, userDetails);
+        var isTokenValid = jwtService.isTokenValid(verifiedToken, userDetails);
 
-        return ResponseEntity.ok(new ValidateTokenResponse(
+        return record(total, VALIDATE, isTokenValid ? "valid" : "invalid", ResponseEntity.ok(new ValidateTokenResponse(
                 isTokenValid,
                 isTokenValid ? "Token is valid" : "Token is invalid"
-        ));
+        )));
     }
 
-    private UserDetails getUserDetailsFromToken(String token)  {
-        if (token == null || token.isBlank()) {
-            return null;
+    public ResponseEntity<ValidateTokensResponse> validateTokens(ValidateTokensRequest request) {
+        var total = authMetrics.start();
+        var tokens = request.tokens();
+
+        if (tokens == null || tokens.isEmpty() || tokens.size() > MAX_VALIDATION_BATCH_SIZE) {
+            return record(total, VALIDATE_BATCH, "bad-request",
+                    ResponseEntity.badRequest().body(new ValidateTokensResponse(List.of())));
         }
 
-        if (!jwtService.isRefreshToken(token) && !jwtService.isAccessToken(token)) {
+        var sample = authMetrics.start();
+        var verifiedTokens = tokens.stream()
+                .map(token -> token == null ? null : jwtService.verify(token).orElse(null))
+                .toList();
+        var verified = verifiedTokens.stream().filter(Objects::nonNull).count();
+        authMetrics.stage(sample, VALIDATE_BATCH, "verify", batchOutcome(verified, tokens.size(), "valid", "invalid"));
+
+        sample = authMetrics.start();
+        var usernames = verifiedTokens.stream()
+                .filter(TokenService::isSessionToken)
+                .map(VerifiedToken::subject)
+                .collect(Collectors.toSet());
+        var users = userDetailsService.loadAllByUsername(usernames);
+        authMetrics.stage(sample, VALIDATE_BATCH, "user-lookup",
+                batchOutcome(users.size(), usernames.size(), "found", "not-found"));
+
+        var results = verifiedTokens.stream()
+                .map(verifiedToken -> {
+                    var userDetails = isSessionToken(verifiedToken) ? users.get(verifiedToken.subject()) : null;
+                    var isTokenValid = userDetails != null && jwtService.isTokenValid(verifiedToken, userDetails);
+
+                    return new ValidateTokenResponse(
+                            isTokenValid,
+                            isTokenValid ? "Token is valid" : "Token is invalid"
+                    );
+                })
+                .toList();
+        var valid = results.stream().filter(ValidateTokenResponse::isTokenValid).count();
+
+        return record(total, VALIDATE_BATCH, batchOutcome(valid, results.size(), "valid", "invalid"),
+                ResponseEntity.ok(new ValidateTokensResponse(results)));
+    }
+
+    /**
+     * Tags a batch stage with {@code none} when no item passed (including an
+     * empty stage), {@code all} when every item did and {@code mixed}
+     * otherwise, keeping the tag set small.
+     */
+    private static String batchOutcome(long passed, int size, String all, String none) {
+        if (passed == 0) {
+            return none;
+        }
+
+        return passed == size ? all : "mixed";
+    }
+
+    public ResponseEntity<String> jwks(String ifNoneMatch) {
+        var jwks = jwtService.jwks();
+        var eTag = "\"" + DigestUtils.md5DigestAsHex(jwks.getBytes(StandardCharsets.UTF_8)) + "\"";
+        var cacheControl = CacheControl.maxAge(jwtProperties.jwksMaxAge()).cachePublic();
+
+        if (eTag.equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(eTag)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .eTag(eTag)
+                .contentType(JWK_SET)
+                .body(jwks);
+    }
+
+    public ResponseEntity<RevokeTokenResponse> revokeToken(TokenRequest request) {
+        var total = authMetrics.start();
+        var verifiedToken = jwtService.verify(request.token()).orElse(null);
+
+        if (verifiedToken == null) {
+            return record(total, REVOKE, "invalid", ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new RevokeTokenResponse("Token is invalid")));
+        }
+
+        tokenRevocationService.revoke(verifiedToken);
+
+        return record(total, REVOKE, "revoked", ResponseEntity.ok(new RevokeTokenResponse("Token revoked")));
+    }
+
+    public ResponseEntity<RevokeTokenResponse> revokeAllSessions(TokenRequest request) {
+        var total = authMetrics.start();
+        var verifiedToken = jwtService.verify(request.token()).orElse(null);
+
+        if (verifiedToken == null) {
+            return record(total, REVOKE_ALL, "invalid", ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body(new RevokeTokenResponse("Token is invalid")));
+        }
+
+        tokenRevocationService.revokeAllSessions(verifiedToken.subject());
+
+        if (verifiedToken.id() != null) {
+            tokenRevocationService.revoke(verifiedToken);
+        }
+
+        return record(total, REVOKE_ALL, "revoked", ResponseEntity.ok(new RevokeTokenResponse("All sessions revoked")));
+    }
+
+    private UserDetails getUserDetailsFromToken(VerifiedToken token)  {
+        if (!isSessionToken(token)) {
             return null;
         }
 
         try {
-            var username = jwtService.extractUsername(token);
-            return userDetailsService.loadUserByUsername(username);
+            return userDetailsService.loadUserByUsername(token.subject());
         } catch (Exception e) {
             return null;
         }
     }
+
+    private <T> ResponseEntity<T> record(
+            Timer.Sample sample,
+            String operation,
+            String outcome,
+            ResponseEntity<T> response
+    ) {
+        authMetrics.operation(sample, operation, outcome);
+        return response;
+    }
+
+    private static String subject(VerifiedToken token) {
+        return token == null ? null : token.subject();
+    }
+
+    private static boolean isSessionToken(VerifiedToken token) {
+        return token != null && (token.isRefreshToken() || token.isAccessToken());
+    }
 }
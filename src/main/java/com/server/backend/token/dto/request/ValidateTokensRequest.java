@@ -0,0 +1,7 @@
+package com.server.backend.token.dto.request;
+
+import java.util.List;
+
+public record ValidateTokensRequest(
+        List<String> tokens
+) {}
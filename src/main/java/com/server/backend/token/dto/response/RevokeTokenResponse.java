@@ -0,0 +1,5 @@
+package com.server.backend.token.dto.response;
+
+public record RevokeTokenResponse(
+        String message
+) {}
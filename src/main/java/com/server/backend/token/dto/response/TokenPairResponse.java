@@ -0,0 +1,7 @@
+package com.server.backend.token.dto.response;
+
+public record TokenPairResponse(
+        String accessToken,
+        String refreshToken,
+        String message
+) {}
@@ -0,0 +1,7 @@
+package com.server.backend.token.dto.response;
+
+import java.util.List;
+
+public record ValidateTokensResponse(
+        List<ValidateTokenResponse> results
+) {}
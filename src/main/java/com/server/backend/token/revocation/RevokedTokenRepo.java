@@ -0,0 +1,36 @@
+package com.server.backend.token.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface RevokedTokenRepo extends JpaRepository<RevokedToken, String> {
+    List<RevokedToken> findAllByRevokedAtAfterAndExpiresAtAfter(Instant revokedAfter, Instant expiresAfter);
+
+    /**
+     * Plain insert rather than {@code save}, which would merge onto an existing
+     * row; a duplicate {@code token_id} fails on the primary key instead.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            insert into revoked_tokens (token_id, username, revoked_at, expires_at)
+            values (:tokenId, :username, :revokedAt, :expiresAt)
+            """, nativeQuery = true)
+    void insert(
+            @Param("tokenId") String tokenId,
+            @Param("username") String username,
+            @Param("revokedAt") Instant revokedAt,
+            @Param("expiresAt") Instant expiresAt
+    );
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken t where t.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
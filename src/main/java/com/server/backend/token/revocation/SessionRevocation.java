@@ -0,0 +1,30 @@
+package com.server.backend.token.revocation;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+@Builder
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(
+        name = "session_revocations",
+        indexes = {
+                @Index(name = "idx_session_revocations_expires_at", columnList = "expires_at"),
+                @Index(name = "idx_session_revocations_revoked_at", columnList = "revoked_at")
+        }
+)
+public class SessionRevocation {
+    @Id
+    private String username;
+
+    @Column(name = "revoked_at", nullable = false)
+    private Instant revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
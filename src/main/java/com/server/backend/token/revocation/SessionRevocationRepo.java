@@ -0,0 +1,19 @@
+package com.server.backend.token.revocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface SessionRevocationRepo extends JpaRepository<SessionRevocation, String> {
+    List<SessionRevocation> findAllByRevokedAtAfterAndExpiresAtAfter(Instant revokedAfter, Instant expiresAfter);
+
+    @Transactional
+    @Modifying
+    @Query("delete from SessionRevocation r where r.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+}
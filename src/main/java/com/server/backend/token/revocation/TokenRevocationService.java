@@ -0,0 +1,146 @@
+package com.server.backend.token.revocation;
+
+import com.server.backend.jwt.JwtService;
+import com.server.backend.jwt.VerifiedToken;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocations are persisted through JPA and mirrored in memory, so checking a
+ * token on the request path is two hash lookups and never a query.
+ * <p>
+ * Revoking a single token keys on its {@code jti}. Revoking all sessions of a
+ * user rejects every token issued before the revocation second. {@code iat}
+ * only has second precision, so tokens from that second stay valid: a login
+ * right after revoking must work, and the token the revocation was requested
+ * with is revoked by its {@code jti} instead. Entries
+ * are purged once nothing they could reject is still unexpired, and other
+ * instances pick up new revocations on the next sync.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService {
+    private final RevokedTokenRepo revokedTokenRepo;
+    private final SessionRevocationRepo sessionRevocationRepo;
+
+    private final ConcurrentHashMap<String, Instant> revokedTokens = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Instant> revokedSessions = new ConcurrentHashMap<>();
+
+    private volatile Instant lastSync = Instant.EPOCH;
+
+    @PostConstruct
+    void load() {
+        sync();
+        log.info("Loaded {} revoked token(s) and {} revoked session(s)",
+                revokedTokens.size(), revokedSessions.size());
+    }
+
+    public boolean isRevoked(VerifiedToken token) {
+        if (token.id() != null && revokedTokens.containsKey(token.id())) {
+            return true;
+        }
+
+        var sessionsRevokedAt = revokedSessions.get(token.subject());
+        return sessionsRevokedAt != null
+                && token.issuedAt() != null
+                && token.issuedAt().toInstant().isBefore(sessionsRevokedAt);
+    }
+
+    public void revoke(VerifiedToken token) {
+        if (token.id() == null) {
+            revokeAllSessions(token.subject());
+            return;
+        }
+
+        var expiresAt = token.expiration().toInstant();
+
+        revokedTokenRepo.save(RevokedToken.builder()
+                .tokenId(token.id())
+                .username(token.subject())
+                .revokedAt(Instant.now())
+                .expiresAt(expiresAt)
+                .build());
+        revokedTokens.put(token.id(), expiresAt);
+    }
+
+    /**
+     * Revokes a single token only if no other caller has, so exactly one of
+     * several concurrent rotations of the same refresh token wins. The
+     * in-memory mirror settles races on this instance and the primary key on
+     * {@code token_id} settles them across instances.
+     *
+     * @return {@code false} if the token was already revoked
+     */
+    public boolean claim(VerifiedToken token) {
+        var expiresAt = token.expiration().toInstant();
+
+        if (revokedTokens.putIfAbsent(token.id(), expiresAt) != null) {
+            return false;
+        }
+
+        try {
+            revokedTokenRepo.insert(token.id(), token.subject(), Instant.now(), expiresAt);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        } catch (RuntimeException e) {
+            revokedTokens.remove(token.id(), expiresAt);
+            throw e;
+        }
+    }
+
+    public void revokeAllSessions(String username) {
+        var revokedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        sessionRevocationRepo.save(SessionRevocation.builder()
+                .username(username)
+                .revokedAt(revokedAt)
+                .expiresAt(revokedAt.plus(JwtService.REFRESH_TOKEN_LIFETIME))
+                .build());
+        revokedSessions.put(username, revokedAt);
+    }
+
+    @Scheduled(
+            initialDelayString = "${token-revocation.sync-interval:30s}",
+            fixedDelayString = "${token-revocation.sync-interval:30s}"
+    )
+    public void sync() {
+        var now = Instant.now();
+        var since = lastSync;
+
+        for (var token : revokedTokenRepo.findAllByRevokedAtAfterAndExpiresAtAfter(since, now)) {
+            revokedTokens.put(token.getTokenId(), token.getExpiresAt());
+        }
+
+        for (var session : sessionRevocationRepo.findAllByRevokedAtAfterAndExpiresAtAfter(since, now)) {
+            revokedSessions.merge(session.getUsername(), session.getRevokedAt(),
+                    (current, loaded) -> loaded.isAfter(current) ? loaded : current);
+        }
+
+        lastSync = now.minus(1, ChronoUnit.SECONDS);
+    }
+
+    @Scheduled(fixedDelayString = "${token-revocation.purge-interval:10m}")
+    public void purgeExpired() {
+        var now = Instant.now();
+
+        revokedTokens.values().removeIf(expiresAt -> expiresAt.isBefore(now));
+        revokedSessions.values().removeIf(revokedAt ->
+                revokedAt.plus(JwtService.REFRESH_TOKEN_LIFETIME).isBefore(now));
+
+        var purged = revokedTokenRepo.deleteExpired(now) + sessionRevocationRepo.deleteExpired(now);
+
+        if (purged > 0) {
+            log.info("Purged {} expired revocation(s)", purged);
+        }
+    }
+}
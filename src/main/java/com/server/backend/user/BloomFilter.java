@@ -0,0 +1,99 @@
+package com.server.backend.user;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Bloom filter over strings. Bits are only ever set, with a CAS per
+ * 64-bit word, so concurrent {@link #put} and {@link #mightContain} calls need
+ * no locking.
+ */
+final class BloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+    private final AtomicLong bitsSet = new AtomicLong();
+
+    private BloomFilter(long bitSize, int hashCount) {
+        this.words = new AtomicLongArray(Math.toIntExact(bitSize / Long.SIZE));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        var n = Math.max(1, expectedInsertions);
+        var bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2));
+        var bitSize = Math.max(Long.SIZE, (bits + Long.SIZE - 1) / Long.SIZE * Long.SIZE);
+        var hashCount = Math.max(1, (int) Math.round((double) bitSize / n * LN2));
+
+        return new BloomFilter(bitSize, hashCount);
+    }
+
+    void put(String value) {
+        var hash1 = hash(value);
+        var hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (var i = 0; i < hashCount; i++) {
+            setBit(Math.floorMod(hash1 + i * hash2, bitSize));
+        }
+    }
+
+    boolean mightContain(String value) {
+        var hash1 = hash(value);
+        var hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+
+        for (var i = 0; i < hashCount; i++) {
+            var bit = Math.floorMod(hash1 + i * hash2, bitSize);
+
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.get() / bitSize, hashCount);
+    }
+
+    private void setBit(long bit) {
+        var index = (int) (bit >>> 6);
+        var mask = 1L << bit;
+
+        while (true) {
+            var word = words.get(index);
+
+            if ((word & mask) != 0) {
+                return;
+            }
+
+            if (words.compareAndSet(index, word, word | mask)) {
+                bitsSet.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    private static long hash(String value) {
+        var hash = 0xCBF29CE484222325L;
+
+        for (var i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
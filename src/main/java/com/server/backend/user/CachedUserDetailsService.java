@@ -0,0 +1,75 @@
+package com.server.backend.user;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps recently loaded principals in memory for a bounded time. Entries are
+ * evicted once a {@link UserChangedEvent} commits, so password or email
+ * changes are visible to the next authentication. Batches of usernames that
+ * miss the cache are loaded together through the bulk loader.
+ */
+public class CachedUserDetailsService implements UserDetailsService {
+    private static final String METRIC_NAME = "security.user-details";
+
+    private final LoadingCache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(
+            UserDetailsService delegate,
+            Function<Collection<String>, Collection<? extends UserDetails>> bulkLoader,
+            Duration ttl,
+            long maxSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public UserDetails load(String username) {
+                        return delegate.loadUserByUsername(username);
+                    }
+
+                    @Override
+                    public Map<String, UserDetails> loadAll(Set<? extends String> usernames) {
+                        return bulkLoader.apply(List.copyOf(usernames)).stream()
+                                .collect(Collectors.toMap(UserDetails::getUsername, Function.identity()));
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, METRIC_NAME);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        return cache.get(username);
+    }
+
+    public Map<String, UserDetails> loadAllByUsername(Collection<String> usernames) {
+        return cache.getAll(usernames);
+    }
+
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.username());
+    }
+}
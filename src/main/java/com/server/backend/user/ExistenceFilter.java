@@ -0,0 +1,159 @@
+package com.server.backend.user;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Answers "is this value definitely not taken?" for one user attribute.
+ * Negative answers skip the database; positive answers always fall through to
+ * the supplied query. Until the first build completes every value is treated
+ * as possibly present.
+ * <p>
+ * The filter is local to this node and only as fresh as its last rebuild, so
+ * it may only short-circuit uniqueness pre-checks that the database unique
+ * constraint backs up, never a lookup that fetches a user. Values are trimmed
+ * and lower-cased before hashing to match the case-insensitive collation.
+ */
+public class ExistenceFilter {
+    private static final String METRIC_PREFIX = "user.existence.filter";
+
+    private final Counter skipped;
+    private final Counter queried;
+    private final Counter falsePositives;
+
+    private final AtomicReference<Filters> filters = new AtomicReference<>(Filters.EMPTY);
+
+    ExistenceFilter(String name, MeterRegistry meterRegistry) {
+        this.skipped = checkCounter(meterRegistry, name, "skipped");
+        this.queried = checkCounter(meterRegistry, name, "queried");
+        this.falsePositives = checkCounter(meterRegistry, name, "false_positive");
+
+        Gauge.builder(METRIC_PREFIX + ".expected.fpp", this, ExistenceFilter::expectedFalsePositiveRate)
+                .description("Expected false-positive rate of the existence filter")
+                .tag("filter", name)
+                .register(meterRegistry);
+    }
+
+    public boolean mightContain(String value) {
+        var filter = filters.get().current();
+
+        if (value == null || filter == null || filter.mightContain(normalize(value))) {
+            queried.increment();
+            return true;
+        }
+
+        skipped.increment();
+        return false;
+    }
+
+    public boolean exists(String value, Predicate<String> query) {
+        if (!mightContain(value)) {
+            return false;
+        }
+
+        var exists = query.test(value);
+        recordOutcome(exists);
+        return exists;
+    }
+
+    public Set<String> existing(Collection<String> values, Function<Collection<String>, Set<String>> query) {
+        var candidates = values.stream()
+                .filter(this::mightContain)
+                .toList();
+
+        if (candidates.isEmpty()) {
+            return Set.of();
+        }
+
+        var existing = query.apply(candidates);
+
+        if (filters.get().current() != null) {
+            falsePositives.increment(candidates.size() - existing.size());
+        }
+
+        return existing;
+    }
+
+    /**
+     * Puts the value into the live filter and, during a rebuild, the one being
+     * built. Puts are idempotent, so if a rebuild starts or completes while
+     * writing, the value is simply written again into the new pair.
+     */
+    public void add(String value) {
+        if (value == null) {
+            return;
+        }
+
+        var key = normalize(value);
+        Filters snapshot;
+
+        do {
+            snapshot = filters.get();
+
+            if (snapshot.current() != null) {
+                snapshot.current().put(key);
+            }
+
+            if (snapshot.next() != null) {
+                snapshot.next().put(key);
+            }
+        } while (filters.get() != snapshot);
+    }
+
+    void beginRebuild(long expectedInsertions, double falsePositiveRate) {
+        var next = BloomFilter.create(expectedInsertions, falsePositiveRate);
+        filters.updateAndGet(state -> new Filters(state.current(), next));
+    }
+
+    void rebuildWith(String value) {
+        if (value != null) {
+            filters.get().next().put(normalize(value));
+        }
+    }
+
+    void completeRebuild() {
+        filters.updateAndGet(state -> new Filters(state.next(), null));
+    }
+
+    void abortRebuild() {
+        filters.updateAndGet(state -> new Filters(state.current(), null));
+    }
+
+    private double expectedFalsePositiveRate() {
+        var filter = filters.get().current();
+        return filter == null ? 1.0 : filter.expectedFalsePositiveRate();
+    }
+
+    private void recordOutcome(boolean present) {
+        if (!present && filters.get().current() != null) {
+            falsePositives.increment();
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static Counter checkCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder(METRIC_PREFIX + ".checks")
+                .tag("filter", name)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * The live filter and, while a rebuild is running, its replacement; swapped
+     * as one value so an insert never sees one without the other.
+     */
+    private record Filters(BloomFilter current, BloomFilter next) {
+        static final Filters EMPTY = new Filters(null, null);
+    }
+}
@@ -0,0 +1,44 @@
+package com.server.backend.user;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.server.backend.jwt.JwtProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Current security version per user id, used to reject stateless access
+ * tokens and refresh-token rotations issued before a credential change. Misses cost a single-column
+ * query; local changes evict immediately and changes made on other
+ * instances are picked up once the entry expires.
+ */
+@Component
+public class SecurityVersionRegistry {
+    private static final String METRIC_NAME = "security.versions";
+
+    private final LoadingCache<Long, Long> versions;
+
+    public SecurityVersionRegistry(UserRepo userRepo, JwtProperties properties, MeterRegistry meterRegistry) {
+        var stateless = properties.stateless();
+
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(stateless.versionTtl())
+                .maximumSize(stateless.maxSize())
+                .recordStats()
+                .build(id -> userRepo.findSecurityVersionById(id).orElse(null));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, METRIC_NAME);
+    }
+
+    public boolean isCurrent(Long userId, long securityVersion) {
+        var current = versions.get(userId);
+        return current != null && current == securityVersion;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        versions.invalidate(event.id());
+    }
+}
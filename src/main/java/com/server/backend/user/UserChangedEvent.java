@@ -0,0 +1,7 @@
+package com.server.backend.user;
+
+public record UserChangedEvent(
+        Long id,
+        String username,
+        String email
+) {}
@@ -0,0 +1,38 @@
+package com.server.backend.user;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+import java.util.Optional;
+
+public enum UserConflict {
+    USERNAME,
+    EMAIL;
+
+    public static Optional<UserConflict> of(DataIntegrityViolationException exception) {
+        var constraint = constraintName(exception).toLowerCase(Locale.ROOT);
+
+        if (constraint.contains(User.EMAIL_CONSTRAINT)) {
+            return Optional.of(EMAIL);
+        }
+
+        if (constraint.contains(User.USERNAME_CONSTRAINT)) {
+            return Optional.of(USERNAME);
+        }
+
+        return Optional.empty();
+    }
+
+    private static String constraintName(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null) {
+                return violation.getConstraintName();
+            }
+        }
+
+        var message = exception.getMostSpecificCause().getMessage();
+        return message == null ? "" : message;
+    }
+}
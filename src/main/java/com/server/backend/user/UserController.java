@@ -4,10 +4,10 @@ import com.server.backend.user.dto.request.UserUpdateRequest;
 import com.server.backend.user.dto.response.UserResponse;
 import com.server.backend.user.dto.response.UserUpdateResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/user")
@@ -16,23 +16,36 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getUserList(@RequestParam(required = false) UserRole role) {
-        return userService.getUserList(role);
+    public ResponseEntity<StreamingResponseBody> getUserList(
+            @RequestParam(required = false) UserRole role,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "" + UserService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return userService.getUserList(role, after, size);
     }
 
     @GetMapping("/id/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
-        return userService.getUserById(id);
+    public ResponseEntity<UserResponse> getUserById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return userService.getUserById(id, ifNoneMatch);
     }
 
     @GetMapping("/username/{username}")
-    public ResponseEntity<UserResponse> getUserByUsername(@PathVariable String username) {
-        return userService.getUserByUsername(username);
+    public ResponseEntity<UserResponse> getUserByUsername(
+            @PathVariable String username,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return userService.getUserByUsername(username, ifNoneMatch);
     }
 
     @GetMapping("/email/{email}")
-    public ResponseEntity<UserResponse> getUserByEmail(@PathVariable String email) {
-        return userService.getUserByEmail(email);
+    public ResponseEntity<UserResponse> getUserByEmail(
+            @PathVariable String email,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return userService.getUserByEmail(email, ifNoneMatch);
     }
 
     @PatchMapping("/update/{id}")
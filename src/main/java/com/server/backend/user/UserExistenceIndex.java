@@ -0,0 +1,97 @@
+package com.server.backend.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory Bloom-filter index of taken usernames and emails. It is built from
+ * {@link UserRepo} shortly after startup, rebuilt periodically in the
+ * background to shed stale emails, and kept current on every insert and email
+ * change in between.
+ */
+@Slf4j
+@Component
+public class UserExistenceIndex {
+    private final UserRepo userRepo;
+    private final UserExistenceProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+    private final ExistenceFilter usernames;
+    private final ExistenceFilter emails;
+
+    public UserExistenceIndex(
+            UserRepo userRepo,
+            UserExistenceProperties properties,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry
+    ) {
+        this.userRepo = userRepo;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.usernames = new ExistenceFilter("username", meterRegistry);
+        this.emails = new ExistenceFilter("email", meterRegistry);
+    }
+
+    public ExistenceFilter usernames() {
+        return usernames;
+    }
+
+    public ExistenceFilter emails() {
+        return emails;
+    }
+
+    public void add(String username, String email) {
+        usernames.add(username);
+        emails.add(email);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        emails.add(event.email());
+    }
+
+    @Scheduled(
+            initialDelayString = "${user-existence-filter.initial-delay:0s}",
+            fixedDelayString = "${user-existence-filter.rebuild-interval:6h}"
+    )
+    public void rebuild() {
+        if (!properties.enabled() || !rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            var expected = Math.max(properties.minExpectedInsertions(), userRepo.count() * 2);
+
+            usernames.beginRebuild(expected, properties.falsePositiveRate());
+            emails.beginRebuild(expected, properties.falsePositiveRate());
+
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (var identities = userRepo.streamIdentities()) {
+                    identities.forEach(identity -> {
+                        usernames.rebuildWith(identity.username());
+                        emails.rebuildWith(identity.email());
+                    });
+                }
+            });
+
+            usernames.completeRebuild();
+            emails.completeRebuild();
+            log.info("User existence filter rebuilt, sized for {} entries", expected);
+        } catch (RuntimeException e) {
+            usernames.abortRebuild();
+            emails.abortRebuild();
+            log.error("User existence filter rebuild failed, keeping the previous filter", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.server.backend.user;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("user-existence-filter")
+public record UserExistenceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.01") double falsePositiveRate,
+        @DefaultValue("100000") long minExpectedInsertions
+) {}
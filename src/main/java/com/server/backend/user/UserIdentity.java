@@ -0,0 +1,6 @@
+package com.server.backend.user;
+
+public record UserIdentity(
+        String username,
+        String email
+) {}
@@ -0,0 +1,8 @@
+package com.server.backend.user;
+
+public record UserListItem(
+        Long id,
+        String username,
+        String email,
+        UserRole role
+) {}
@@ -0,0 +1,19 @@
+package com.server.backend.user;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Username lookups resolved through Hibernate's natural-id API, so they are
+ * answered from the second-level cache instead of a query when possible.
+ */
+public interface UserNaturalIdRepo {
+    @Transactional(readOnly = true)
+    Optional<User> findByUsername(String username);
+
+    @Transactional(readOnly = true)
+    List<User> findAllByUsernameIn(Collection<String> usernames);
+}
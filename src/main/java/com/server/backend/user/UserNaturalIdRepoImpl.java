@@ -0,0 +1,33 @@
+package com.server.backend.user;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+class UserNaturalIdRepoImpl implements UserNaturalIdRepo {
+    private final EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return session().bySimpleNaturalId(User.class).loadOptional(username);
+    }
+
+    @Override
+    public List<User> findAllByUsernameIn(Collection<String> usernames) {
+        return session().byMultipleNaturalId(User.class)
+                .multiLoad(usernames.toArray())
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private Session session() {
+        return entityManager.unwrap(Session.class);
+    }
+}
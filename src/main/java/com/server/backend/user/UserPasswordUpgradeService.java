@@ -0,0 +1,30 @@
+package com.server.backend.user;
+
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class UserPasswordUpgradeService implements UserDetailsPasswordService {
+    private final UserRepo userRepo;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        var user = userRepo.findByUsername(userDetails.getUsername())
+                .orElseThrow(() ->
+                        new UsernameNotFoundException("User not found: " + userDetails.getUsername())
+                );
+
+        user.setPassword(newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
+
+        return user;
+    }
+}
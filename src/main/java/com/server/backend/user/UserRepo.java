@@ -1,12 +1,64 @@
 package com.server.backend.user;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
-public interface UserRepo extends JpaRepository<User, Long> {
-    Optional<User> findByUsername(String username);
+public interface UserRepo extends JpaRepository<User, Long>, UserNaturalIdRepo {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String newEmail);
+
+    @Query("select new com.server.backend.user.UserVersion(u.Id, u.version) from User u where u.Id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") Long id);
+
+    @Query("select new com.server.backend.user.UserVersion(u.Id, u.version) from User u where u.username = :username")
+    Optional<UserVersion> findVersionByUsername(@Param("username") String username);
+
+    @Query("select new com.server.backend.user.UserVersion(u.Id, u.version) from User u where u.email = :email")
+    Optional<UserVersion> findVersionByEmail(@Param("email") String email);
+
+    @Query("select u.securityVersion from User u where u.Id = :id")
+    Optional<Long> findSecurityVersionById(@Param("id") Long id);
+
+    @Query("select u.username from User u where u.username in :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("select u.email from User u where u.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("select new com.server.backend.user.UserIdentity(u.username, u.email) from User u")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<UserIdentity> streamIdentities();
+
+    @Query("""
+            select new com.server.backend.user.UserListItem(u.Id, u.username, u.email, u.role)
+            from User u
+            where u.Id > :after
+            order by u.Id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<UserListItem> streamPage(@Param("after") long after, Limit limit);
+
+    @Query("""
+            select new com.server.backend.user.UserListItem(u.Id, u.username, u.email, u.role)
+            from User u
+            where u.role = :role and u.Id > :after
+            order by u.Id
+            """)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    Stream<UserListItem> streamPageByRole(
+            @Param("role") UserRole role,
+            @Param("after") long after,
+            Limit limit
+    );
 }
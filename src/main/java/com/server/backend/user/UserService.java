@@ -1,65 +1,163 @@
 package com.server.backend.user;
 
+import com.server.backend.audit.AuditAction;
+import com.server.backend.audit.AuditLog;
 import com.server.backend.user.dto.request.UserUpdateRequest;
 import com.server.backend.user.dto.response.UserResponse;
 import com.server.backend.user.dto.response.UserUpdateResponse;
-import jakarta.transaction.Transactional;
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Service
-@RequiredArgsConstructor
 public class UserService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
     private final UserRepo userRepo;
+    private final UserExistenceIndex userExistenceIndex;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JsonMapper jsonMapper;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AuditLog auditLog;
+
+    public UserService(
+            UserRepo userRepo,
+            UserExistenceIndex userExistenceIndex,
+            PasswordEncoder passwordEncoder,
+            ApplicationEventPublisher eventPublisher,
+            JsonMapper jsonMapper,
+            PlatformTransactionManager transactionManager,
+            AuditLog auditLog
+    ) {
+        this.userRepo = userRepo;
+        this.userExistenceIndex = userExistenceIndex;
+        this.passwordEncoder = passwordEncoder;
+        this.eventPublisher = eventPublisher;
+        this.jsonMapper = jsonMapper;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.auditLog = auditLog;
+    }
 
-    public ResponseEntity<List<UserResponse>> getUserList(@RequestParam(required = false) UserRole role) {
-        var users = userRepo.findAll()
-                .stream()
-                .filter(user -> role == null || user.getRole() == role)
-                .map(this::toUserResponse)
-                .toList();
+    public ResponseEntity<StreamingResponseBody> getUserList(UserRole role, Long after, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        var cursor = after == null ? 0L : after;
 
-        return ResponseEntity.ok(users);
+        StreamingResponseBody body = outputStream -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (var rows = role == null
+                    ? userRepo.streamPage(cursor, Limit.of(size))
+                    : userRepo.streamPageByRole(role, cursor, Limit.of(size));
+                 var generator = jsonMapper.createGenerator(outputStream)) {
+                writeUserPage(generator, rows, size);
+            }
+        });
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
     }
 
-    public ResponseEntity<UserResponse> getUserById(Long id) {
-        var user = userRepo.findById(id).orElse(null);
+    private void writeUserPage(JsonGenerator generator, Stream<UserListItem> rows, int size) {
+        var count = 0;
+        Long lastId = null;
 
-        if (user == null) {
-            return ResponseEntity.notFound().build();
+        generator.writeStartObject();
+        generator.writeName("users");
+        generator.writeStartArray();
+
+        for (var row : (Iterable<UserListItem>) rows::iterator) {
+            generator.writePOJO(new UserResponse(row.username(), row.email(), row.role()));
+            lastId = row.id();
+            count++;
+        }
+
+        generator.writeEndArray();
+        generator.writeName("nextCursor");
+
+        if (count == size) {
+            generator.writeNumber(lastId);
+        } else {
+            generator.writeNull();
         }
 
-        return ResponseEntity.ok(toUserResponse(user));
+        generator.writeEndObject();
     }
 
-    public ResponseEntity<UserResponse> getUserByUsername(String username) {
-        var user = userRepo.findByUsername(username).orElse(null);
+    @Transactional(readOnly = true)
+    public ResponseEntity<UserResponse> getUserById(Long id, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            var version = userRepo.findVersionById(id).orElse(null);
 
-        if (user == null) {
-            return ResponseEntity.notFound().build();
+            if (version != null && version.matches(ifNoneMatch)) {
+                return notModified(version);
+            }
         }
 
-        return ResponseEntity.ok(toUserResponse(user));
+        return userResponse(userRepo.findById(id));
     }
 
-    public ResponseEntity<UserResponse> getUserByEmail(String email) {
-        var user = userRepo.findByEmail(email).orElse(null);
+    @Transactional(readOnly = true)
+    public ResponseEntity<UserResponse> getUserByUsername(String username, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            var version = userRepo.findVersionByUsername(username).orElse(null);
 
-        if (user == null) {
-            return ResponseEntity.notFound().build();
+            if (version != null && version.matches(ifNoneMatch)) {
+                return notModified(version);
+            }
         }
 
-        return ResponseEntity.ok(toUserResponse(user));
+        return userResponse(userRepo.findByUsername(username));
     }
 
-    private UserResponse toUserResponse(User user) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<UserResponse> getUserByEmail(String email, String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            var version = userRepo.findVersionByEmail(email).orElse(null);
+
+            if (version != null && version.matches(ifNoneMatch)) {
+                return notModified(version);
+            }
+        }
+
+        return userResponse(userRepo.findByEmail(email));
+    }
+
+    private ResponseEntity<UserResponse> userResponse(Optional<User> user) {
+        return user
+                .map(found -> ResponseEntity.ok()
+                        .eTag(UserVersion.of(found).eTag().formattedTag())
+                        .body(toUserResponse(found)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    private static ResponseEntity<UserResponse> notModified(UserVersion version) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(version.eTag().formattedTag())
+                .build();
+    }
+
+    UserResponse toUserResponse(User user) {
         return new UserResponse(
                 user.getUsername(),
                 user.getEmail(),
@@ -67,47 +165,74 @@ public class UserService {
         );
     }
 
-    @Transactional
+    /**
+     * The email pre-check may be skipped on an existence-filter miss, so the
+     * change is flushed inside the transaction and a unique-constraint
+     * violation is answered with 409 like registration does. Every check runs
+     * before the entity is touched, so a rejected request changes nothing.
+     */
     public ResponseEntity<UserUpdateResponse> updateUser(
             Long id,
             UserUpdateRequest request
     ) {
+        try {
+            return transaction.execute(status -> applyUpdate(id, request));
+        } catch (DataIntegrityViolationException e) {
+            if (UserConflict.of(e).orElse(null) != UserConflict.EMAIL) {
+                throw e;
+            }
+
+            auditLog.record(AuditAction.USER_UPDATE, String.valueOf(id), "email-taken");
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new UserUpdateResponse("Email already exists"));
+        }
+    }
+
+    private ResponseEntity<UserUpdateResponse> applyUpdate(Long id, UserUpdateRequest request) {
         var user = userRepo.findById(id).orElse(null);
 
         if (user == null) {
+            auditLog.record(AuditAction.USER_UPDATE, String.valueOf(id), "not-found");
             return ResponseEntity.status(HttpStatus.NOT_FOUND)
                     .body(new UserUpdateResponse("User not found"));
         }
 
-        var email = request.email();
-
-        if (email != null) {
-            email = email.trim();
+        var email = request.email() == null ? null : request.email().trim();
+        var emailChanged = email != null && !email.isBlank() && !email.equals(user.getEmail());
 
-            if (!email.isBlank()
-                    && !email.equals(user.getEmail())) {
-
-                if (userRepo.existsByEmail(email)) {
-                    return ResponseEntity.badRequest()
-                            .body(new UserUpdateResponse("Email already exists"));
-                }
-
-                user.setEmail(email);
-            }
+        if (emailChanged && userExistenceIndex.emails().exists(email, userRepo::existsByEmail)) {
+            auditLog.record(AuditAction.USER_UPDATE, user.getUsername(), "email-taken");
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new UserUpdateResponse("Email already exists"));
         }
 
         var password = request.password();
+        var passwordChanged = password != null && !password.isBlank();
 
-        if (password != null && !password.isBlank()) {
+        if (passwordChanged && passwordEncoder.matches(password, user.getPassword())) {
+            auditLog.record(AuditAction.USER_UPDATE, user.getUsername(), "same-password");
+            return ResponseEntity.badRequest()
+                    .body(new UserUpdateResponse("New password must be different"));
+        }
 
-            if (passwordEncoder.matches(password, user.getPassword())) {
-                return ResponseEntity.badRequest()
-                        .body(new UserUpdateResponse("New password must be different"));
-            }
+        if (emailChanged) {
+            user.setEmail(email);
+        }
 
+        if (passwordChanged) {
             user.setPassword(passwordEncoder.encode(password));
         }
 
+        var changed = emailChanged || passwordChanged;
+
+        if (changed) {
+            user.bumpSecurityVersion();
+            userRepo.flush();
+            eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getUsername(), user.getEmail()));
+        }
+
+        auditLog.record(AuditAction.USER_UPDATE, user.getUsername(), changed ? "updated" : "unchanged");
+
         return ResponseEntity.ok(new UserUpdateResponse(
                 "User updated successfully"
         ));
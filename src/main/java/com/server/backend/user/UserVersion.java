@@ -0,0 +1,22 @@
+package com.server.backend.user;
+
+import org.springframework.http.ETag;
+
+public record UserVersion(
+        Long id,
+        Long version
+) {
+    public ETag eTag() {
+        return new ETag(id + "-" + version, false);
+    }
+
+    public boolean matches(String ifNoneMatch) {
+        var current = eTag();
+        return ETag.parse(ifNoneMatch).stream()
+                .anyMatch(tag -> tag.isWildcard() || tag.compare(current, false));
+    }
+
+    static UserVersion of(User user) {
+        return new UserVersion(user.getId(), user.getVersion());
+    }
+}
@@ -0,0 +1,67 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Databases created by the old {@code ddl-auto: update} setup carry
+ * Hibernate-generated unique keys ({@code UK} plus a hash) on
+ * {@code users.username} and {@code users.email} next to the named keys from
+ * V1. A duplicate can then be reported under the generated name, which
+ * {@code UserConflict} cannot map to a 409, so the generated keys are dropped.
+ * Fresh databases have none and this is a no-op.
+ */
+public class V3__Drop_generated_user_unique_keys extends BaseJavaMigration {
+    private static final String TABLE = "users";
+    private static final Map<String, String> NAMED_KEYS = Map.of(
+            "username", "uk_users_username",
+            "email", "uk_users_email"
+    );
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+
+        try (var statement = connection.createStatement()) {
+            for (var index : generatedUniqueKeys(connection)) {
+                statement.execute("alter table " + TABLE + " drop index " + index);
+            }
+        }
+    }
+
+    private static List<String> generatedUniqueKeys(Connection connection) throws SQLException {
+        var columnsByIndex = new LinkedHashMap<String, List<String>>();
+
+        try (var rows = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, TABLE, true, false)) {
+            while (rows.next()) {
+                var index = rows.getString("INDEX_NAME");
+                var column = rows.getString("COLUMN_NAME");
+
+                if (index != null && column != null) {
+                    columnsByIndex.computeIfAbsent(index, name -> new ArrayList<>())
+                            .add(column.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        var generated = new ArrayList<String>();
+
+        columnsByIndex.forEach((index, columns) -> {
+            var named = columns.size() == 1 ? NAMED_KEYS.get(columns.getFirst()) : null;
+
+            if (named != null && !named.equalsIgnoreCase(index)) {
+                generated.add(index);
+            }
+        });
+
+        return generated;
+    }
+}
@@ -0,0 +1,48 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * A baseline-era database may already hold users but no {@code users_seq},
+ * for example when it was created with a different id strategy. V1 then
+ * creates the sequence at 1 and the next insert collides with an existing
+ * primary key, so the sequence is moved past {@code max(id)}.
+ * <p>
+ * Hibernate's pooled optimizer hands out the block ending at the value it
+ * reads, so the sequence must stay at least one increment above the
+ * highest id. Empty tables are left alone; where the sequence is already
+ * ahead this only uses up one block.
+ */
+public class V4__Seed_users_sequence extends BaseJavaMigration {
+    private static final int INCREMENT = 50;
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        var connection = context.getConnection();
+        var maxId = queryLong(connection, "select coalesce(max(id), 0) from users");
+
+        if (maxId == 0) {
+            return;
+        }
+
+        var next = queryLong(connection, "select next value for users_seq");
+
+        if (next - INCREMENT < maxId) {
+            try (var statement = connection.createStatement()) {
+                statement.execute("alter sequence users_seq restart with " + (maxId + INCREMENT));
+            }
+        }
+    }
+
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (var statement = connection.createStatement();
+             var rows = statement.executeQuery(sql)) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+}
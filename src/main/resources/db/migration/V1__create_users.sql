@@ -0,0 +1,19 @@
+create sequence if not exists users_seq start with 1 increment by 50 nocache;
+
+create table if not exists users (
+    id bigint not null,
+    version bigint default 0 not null,
+    security_version bigint default 0 not null,
+    username varchar(255) not null,
+    email varchar(255),
+    password varchar(255),
+    role enum ('ADMIN', 'USER'),
+    primary key (id)
+) engine = InnoDB;
+
+alter table users add column if not exists version bigint default 0 not null;
+alter table users add column if not exists security_version bigint default 0 not null;
+
+create unique index if not exists uk_users_username on users (username);
+create unique index if not exists uk_users_email on users (email);
+create index if not exists idx_users_role_id on users (role, id);
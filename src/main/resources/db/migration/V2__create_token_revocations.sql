@@ -0,0 +1,20 @@
+create table if not exists revoked_tokens (
+    token_id varchar(36) not null,
+    username varchar(255) not null,
+    revoked_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (token_id)
+) engine = InnoDB;
+
+create index if not exists idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
+create index if not exists idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+
+create table if not exists session_revocations (
+    username varchar(255) not null,
+    revoked_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (username)
+) engine = InnoDB;
+
+create index if not exists idx_session_revocations_expires_at on session_revocations (expires_at);
+create index if not exists idx_session_revocations_revoked_at on session_revocations (revoked_at);
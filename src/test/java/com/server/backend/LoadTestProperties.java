@@ -0,0 +1,25 @@
+package com.server.backend;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties("load-test")
+record LoadTestProperties(
+        @DefaultValue("50") int users,
+        @DefaultValue("8") int concurrency,
+        @DefaultValue("500") int warmupRequests,
+        @DefaultValue("5000") int requests,
+        @DefaultValue Map<String, Integer> mix,
+        @DefaultValue Map<String, Budget> budgets
+) {
+    record Budget(
+            Duration p50,
+            Duration p95,
+            Duration p99,
+            Double minThroughput,
+            @DefaultValue("0") double maxErrorRate
+    ) {}
+}
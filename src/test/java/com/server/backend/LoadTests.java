@@ -0,0 +1,319 @@
+package com.server.backend;
+
+import com.server.backend.user.UserRepo;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives mixed login, refresh, validate and user-read traffic against the
+ * running application on H2 and checks each endpoint against its latency and
+ * throughput budget. Tagged {@code load}, so it only runs with
+ * {@code -Pload-test}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "load"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class LoadTests {
+    private static final String PASSWORD = "load-test-password";
+
+    @Autowired
+    private LoadTestProperties properties;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final List<LoadUser> users = new ArrayList<>();
+
+    @BeforeAll
+    void registerUsers() throws Exception {
+        for (var i = 0; i < properties.users(); i++) {
+            var username = "load-user-" + i;
+            var register = post("/api/v1/auth/register", Map.of(
+                    "username", username,
+                    "email", username + "@example.com",
+                    "password", PASSWORD
+            ), null);
+            assertThat(register.statusCode()).isEqualTo(200);
+
+            var login = post("/api/v1/auth/login", Map.of("username", username, "password", PASSWORD), null);
+            assertThat(login.statusCode()).isEqualTo(200);
+
+            var tokens = jsonMapper.readTree(login.body());
+            users.add(new LoadUser(
+                    userRepo.findByUsername(username).orElseThrow().getId(),
+                    username,
+                    tokens.get("refreshToken").asString(),
+                    tokens.get("accessToken").asString()
+            ));
+        }
+    }
+
+    @Test
+    void mixedTrafficStaysWithinBudgets() throws Exception {
+        var scenarios = scenarios();
+
+        run(scenarios, properties.warmupRequests(), new Recorder());
+
+        var recorder = new Recorder();
+        var started = System.nanoTime();
+        run(scenarios, properties.requests(), recorder);
+        var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        var results = recorder.results(elapsed);
+        var report = report(results, elapsed);
+        log.info(report);
+
+        var violations = new ArrayList<String>();
+        results.forEach((name, result) -> {
+            var budget = properties.budgets().get(name);
+
+            if (budget != null) {
+                violations.addAll(result.violations(name, budget));
+            }
+        });
+
+        assertThat(violations).as("%s", report).isEmpty();
+    }
+
+    private Map<String, Scenario> scenarios() {
+        var scenarios = new LinkedHashMap<String, Scenario>();
+        scenarios.put("login", user -> post("/api/v1/auth/login",
+                Map.of("username", user.username(), "password", PASSWORD), null));
+        scenarios.put("refresh", user -> post("/api/v1/token/refresh-token",
+                Map.of("token", user.refreshToken(), "type", "refresh"), null));
+        scenarios.put("validate", user -> post("/api/v1/token/validate-token",
+                Map.of("token", user.accessToken(), "type", ""), null));
+        scenarios.put("user-read", user -> get("/api/v1/user/id/" + user.id(), user.accessToken()));
+        scenarios.keySet().retainAll(properties.mix().keySet());
+        return scenarios;
+    }
+
+    private void run(Map<String, Scenario> scenarios, int requests, Recorder recorder) throws Exception {
+        var names = scenarios.keySet().toArray(String[]::new);
+        var weights = Arrays.stream(names).mapToInt(name -> properties.mix().get(name)).toArray();
+        var totalWeight = Arrays.stream(weights).sum();
+        var remaining = new AtomicInteger(requests);
+
+        try (var executor = Executors.newFixedThreadPool(properties.concurrency())) {
+            for (var worker = 0; worker < properties.concurrency(); worker++) {
+                executor.submit(() -> {
+                    var random = ThreadLocalRandom.current();
+
+                    while (remaining.getAndDecrement() > 0) {
+                        var name = pick(names, weights, random.nextInt(totalWeight));
+                        var user = users.get(random.nextInt(users.size()));
+                        var start = System.nanoTime();
+                        String failure;
+
+                        try {
+                            var status = scenarios.get(name).execute(user).statusCode();
+                            failure = status == 200 ? null : "HTTP " + status;
+                        } catch (Exception e) {
+                            failure = e.getClass().getSimpleName();
+                        }
+
+                        recorder.record(name, System.nanoTime() - start, failure);
+                    }
+
+                    return null;
+                });
+            }
+        }
+    }
+
+    private static String pick(String[] names, int[] weights, int ticket) {
+        for (var i = 0; i < names.length; i++) {
+            ticket -= weights[i];
+
+            if (ticket < 0) {
+                return names[i];
+            }
+        }
+
+        return names[names.length - 1];
+    }
+
+    private HttpResponse<String> post(String path, Object body, String accessToken) throws Exception {
+        var request = request(path, accessToken)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(jsonMapper.writeValueAsString(body)))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String path, String accessToken) throws Exception {
+        return client.send(request(path, accessToken).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String accessToken) {
+        var builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+
+        if (accessToken != null) {
+            builder.header("Authorization", "Bearer " + accessToken);
+        }
+
+        return builder;
+    }
+
+    private static String report(Map<String, Result> results, Duration elapsed) {
+        var report = new StringBuilder()
+                .append(String.format("%nLoad test: %d ms%n", elapsed.toMillis()))
+                .append(String.format("%-10s %8s %7s %10s %9s %9s %9s%n",
+                        "endpoint", "requests", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms"));
+
+        results.forEach((name, result) -> report.append(String.format("%-10s %8d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                name, result.requests(), result.errors(), result.throughput(),
+                millis(result.p50()), millis(result.p95()), millis(result.p99()))));
+
+        results.forEach((name, result) -> {
+            if (!result.failures().isEmpty()) {
+                report.append(String.format("%-10s failures: %s%n", name, result.failures()));
+            }
+        });
+
+        return report.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        HttpResponse<String> execute(LoadUser user) throws Exception;
+    }
+
+    private record LoadUser(Long id, String username, String refreshToken, String accessToken) {}
+
+    private static final class Recorder {
+        private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+        private final Map<String, Map<String, LongAdder>> failures = new ConcurrentHashMap<>();
+
+        /**
+         * @param failure {@code null} for a 200, otherwise the status or the
+         *                class of the exception that ended the request
+         */
+        void record(String name, long nanos, String failure) {
+            latencies.computeIfAbsent(name, key -> new ConcurrentLinkedQueue<>()).add(nanos);
+
+            if (failure != null) {
+                failures.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(failure, key -> new LongAdder())
+                        .increment();
+            }
+        }
+
+        Map<String, Result> results(Duration elapsed) {
+            var results = new LinkedHashMap<String, Result>();
+            latencies.keySet().stream().sorted().forEach(name -> {
+                var sorted = latencies.get(name).stream().mapToLong(Long::longValue).sorted().toArray();
+                var failed = new TreeMap<String, Long>();
+                failures.getOrDefault(name, Map.of()).forEach((failure, count) -> failed.put(failure, count.sum()));
+                results.put(name, new Result(sorted, failed, sorted.length * 1e9 / elapsed.toNanos()));
+            });
+            return results;
+        }
+    }
+
+    private record Result(long[] sorted, Map<String, Long> failures, double throughput) {
+        int requests() {
+            return sorted.length;
+        }
+
+        long errors() {
+            return failures.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        long p50() {
+            return percentile(0.50);
+        }
+
+        long p95() {
+            return percentile(0.95);
+        }
+
+        long p99() {
+            return percentile(0.99);
+        }
+
+        long percentile(double quantile) {
+            var index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+
+        List<String> violations(String name, LoadTestProperties.Budget budget) {
+            var violations = new ArrayList<String>();
+            check(violations, name, "p50", p50(), budget.p50());
+            check(violations, name, "p95", p95(), budget.p95());
+            check(violations, name, "p99", p99(), budget.p99());
+
+            if (budget.minThroughput() != null && throughput < budget.minThroughput()) {
+                violations.add(String.format("%s throughput %.1f req/s is below %.1f req/s",
+                        name, throughput, budget.minThroughput()));
+            }
+
+            var errorRate = (double) errors() / requests();
+
+            if (errorRate > budget.maxErrorRate()) {
+                violations.add(String.format("%s error rate %.4f exceeds %.4f %s",
+                        name, errorRate, budget.maxErrorRate(), failures));
+            }
+
+            return violations;
+        }
+
+        private static void check(List<String> violations, String name, String label, long actual, Duration budget) {
+            if (budget != null && actual > budget.toNanos()) {
+                violations.add(String.format("%s %s %.2f ms exceeds %d ms",
+                        name, label, millis(actual), budget.toMillis()));
+            }
+        }
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(LoadTestProperties.class)
+    static class LoadTestConfiguration {
+    }
+}
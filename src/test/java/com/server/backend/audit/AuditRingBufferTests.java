@@ -0,0 +1,83 @@
+package com.server.backend.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditRingBufferTests {
+    private static final int PRODUCERS = 4;
+    private static final int EVENTS_PER_PRODUCER = 50_000;
+
+    @Test
+    void fullBufferRejectsNewestAndKeepsQueuedEvents() {
+        var buffer = new AuditRingBuffer<Integer>(4);
+
+        for (var i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+
+        var drained = new ArrayList<Integer>();
+        assertThat(buffer.drain(drained::add, 3)).isEqualTo(3);
+        assertThat(buffer.offer(5)).isTrue();
+        buffer.drain(drained::add, 10);
+
+        assertThat(drained).containsExactly(0, 1, 2, 3, 5);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws Exception {
+        var buffer = new AuditRingBuffer<long[]>(1024);
+        var accepted = new AtomicInteger();
+        var producersDone = false;
+        var start = new CountDownLatch(1);
+        var lastSeen = new long[PRODUCERS];
+        var received = 0;
+
+        Arrays.fill(lastSeen, -1);
+
+        try (var executor = Executors.newFixedThreadPool(PRODUCERS)) {
+            for (var producer = 0; producer < PRODUCERS; producer++) {
+                var id = producer;
+                executor.submit(() -> {
+                    start.await();
+
+                    for (var sequence = 0; sequence < EVENTS_PER_PRODUCER; sequence++) {
+                        if (buffer.offer(new long[]{id, sequence})) {
+                            accepted.incrementAndGet();
+                        }
+                    }
+
+                    return null;
+                });
+            }
+
+            executor.shutdown();
+            start.countDown();
+
+            var drained = new ArrayList<long[]>();
+
+            while (!producersDone || buffer.size() > 0) {
+                producersDone = executor.isTerminated();
+                drained.clear();
+                received += buffer.drain(drained::add, 256);
+
+                for (var event : drained) {
+                    var producer = (int) event[0];
+                    assertThat(event[1]).isGreaterThan(lastSeen[producer]);
+                    lastSeen[producer] = event[1];
+                }
+            }
+        }
+
+        assertThat(received).isEqualTo(accepted.get());
+    }
+}
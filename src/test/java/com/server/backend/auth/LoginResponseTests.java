@@ -0,0 +1,21 @@
+package com.server.backend.auth;
+
+import com.server.backend.auth.dto.response.LoginResponse;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginResponseTests {
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void keepsTheOriginalFieldsAlongsideTheAccessToken() {
+        var json = jsonMapper.readTree(jsonMapper.writeValueAsString(
+                new LoginResponse("access", "refresh", "User login successful!")));
+
+        assertThat(json.propertyNames()).containsExactlyInAnyOrder("accessToken", "refreshToken", "message");
+        assertThat(json.get("refreshToken").asString()).isEqualTo("refresh");
+        assertThat(json.get("message").asString()).isEqualTo("User login successful!");
+    }
+}
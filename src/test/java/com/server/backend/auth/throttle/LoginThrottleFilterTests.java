@@ -0,0 +1,142 @@
+package com.server.backend.auth.throttle;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleFilterTests {
+    private static final int USERNAME_CAPACITY = 2;
+    private static final Duration REFILL_PERIOD = Duration.ofSeconds(6);
+    private static final int MAX_BODY_SIZE = 64;
+
+    private final LoginThrottleFilter filter = new LoginThrottleFilter(
+            new LoginThrottleProperties(
+                    true,
+                    new LoginThrottleProperties.Bucket(100, REFILL_PERIOD),
+                    new LoginThrottleProperties.Bucket(USERNAME_CAPACITY, REFILL_PERIOD),
+                    1_000,
+                    Duration.ofMinutes(10),
+                    MAX_BODY_SIZE
+            ),
+            JsonMapper.builder().build(),
+            new SimpleMeterRegistry()
+    );
+
+    @Test
+    void caseAndPaddingVariantsShareOneUsernameBucket() throws Exception {
+        assertThat(login("{\"username\":\"Alice\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(login("{\"username\":\" alice \"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+
+        var throttled = login("{\"username\":\"ALICE\"}");
+
+        assertThat(throttled.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(Long.parseLong(throttled.getHeader(HttpHeaders.RETRY_AFTER)))
+                .isBetween(1L, REFILL_PERIOD.toSeconds());
+        assertThat(login("{\"username\":\"bob\"}").getStatus()).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    void forwardsTheCachedBodyDownstream() throws Exception {
+        var body = "{\"username\":\"carol\",\"password\":\"secret\"}";
+        var chain = new MockFilterChain();
+
+        filter.doFilter(request(body), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest().getInputStream().readAllBytes())
+                .isEqualTo(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void cachedBodyCanBeReadAsynchronously() throws Exception {
+        var body = "{\"username\":\"erin\"}";
+        var chain = new MockFilterChain();
+        var read = new ByteArrayOutputStream();
+        var allDataRead = new AtomicBoolean();
+
+        filter.doFilter(request(body), new MockHttpServletResponse(), chain);
+
+        var in = chain.getRequest().getInputStream();
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(in.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allDataRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertThat(allDataRead).isTrue();
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo(body);
+    }
+
+    @Test
+    void rejectsBodiesLargerThanTheLimit() throws Exception {
+        var oversized = "{\"username\":\"" + "d".repeat(MAX_BODY_SIZE) + "\"}";
+
+        assertThat(login(oversized).getStatus()).isEqualTo(HttpStatus.CONTENT_TOO_LARGE.value());
+
+        var chunked = request(oversized);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(new UnknownLengthRequest(chunked), response, new MockFilterChain());
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.CONTENT_TOO_LARGE.value());
+    }
+
+    private MockHttpServletResponse login(String body) throws Exception {
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request(body), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String body) {
+        var request = new MockHttpServletRequest("POST", LoginThrottleFilter.LOGIN_PATH);
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * A chunked upload: no declared length, so the filter has to stop reading
+     * at the limit itself.
+     */
+    private static final class UnknownLengthRequest extends HttpServletRequestWrapper {
+        UnknownLengthRequest(MockHttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+    }
+}
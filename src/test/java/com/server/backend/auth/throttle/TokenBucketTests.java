@@ -0,0 +1,56 @@
+package com.server.backend.auth.throttle;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTests {
+    private static final int CAPACITY = 3;
+    private static final long REFILL_MILLIS = 1_000;
+
+    @Test
+    void startsFullAndReportsWaitUntilNextToken() {
+        var bucket = new TokenBucket(CAPACITY, REFILL_MILLIS, 0);
+
+        for (var i = 0; i < CAPACITY; i++) {
+            assertThat(bucket.tryAcquire(0)).isZero();
+        }
+
+        assertThat(bucket.tryAcquire(0)).isEqualTo(REFILL_MILLIS);
+        assertThat(bucket.tryAcquire(400)).isEqualTo(600);
+    }
+
+    @Test
+    void refillsOneTokenPerPeriod() {
+        var bucket = new TokenBucket(CAPACITY, REFILL_MILLIS, 0);
+        drain(bucket, 0);
+
+        assertThat(bucket.tryAcquire(REFILL_MILLIS - 1)).isEqualTo(1);
+        assertThat(bucket.tryAcquire(REFILL_MILLIS)).isZero();
+        assertThat(bucket.tryAcquire(REFILL_MILLIS)).isEqualTo(REFILL_MILLIS);
+
+        assertThat(bucket.tryAcquire(REFILL_MILLIS * 3 + 250)).isZero();
+        assertThat(bucket.tryAcquire(REFILL_MILLIS * 3 + 250)).isZero();
+        assertThat(bucket.tryAcquire(REFILL_MILLIS * 3 + 250)).isEqualTo(750);
+    }
+
+    @Test
+    void longIdleRefillIsClampedToCapacity() {
+        var bucket = new TokenBucket(CAPACITY, REFILL_MILLIS, 0);
+        drain(bucket, 0);
+
+        var later = REFILL_MILLIS * 1_000;
+
+        for (var i = 0; i < CAPACITY; i++) {
+            assertThat(bucket.tryAcquire(later)).isZero();
+        }
+
+        assertThat(bucket.tryAcquire(later)).isEqualTo(REFILL_MILLIS);
+    }
+
+    private static void drain(TokenBucket bucket, long nowMillis) {
+        while (bucket.tryAcquire(nowMillis) == 0) {
+            // take every available token
+        }
+    }
+}
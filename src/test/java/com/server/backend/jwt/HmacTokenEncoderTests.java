@@ -0,0 +1,84 @@
+package com.server.backend.jwt;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HmacTokenEncoderTests {
+    private static final String KEY_ID = "key-2026";
+    private static final String SUBJECT = "j\"o\\e é中😀\n";
+
+    @ParameterizedTest
+    @CsvSource({"32, HS256", "48, HS384", "64, HS512"})
+    void tokensVerifyWithJjwtParser(int secretLength, String algorithm) {
+        var key = Keys.hmacShaKeyFor("s".repeat(secretLength).getBytes(StandardCharsets.UTF_8));
+        var encoder = new HmacTokenEncoder(KEY_ID, key);
+        var id = UUID.randomUUID();
+        var issuedAt = System.currentTimeMillis();
+        var expiresAt = issuedAt + JwtService.ACCESS_TOKEN_LIFETIME.toMillis();
+
+        for (var subject : new String[]{SUBJECT, "a", "ab", "abc"}) {
+            var token = encoder.encode(JwtService.ACCESS_TOKEN_TYPE, id, subject, issuedAt, expiresAt);
+            var jws = Jwts.parser().verifyWith(key).build().parseSignedClaims(token);
+            var claims = jws.getPayload();
+
+            assertThat(jws.getHeader().getKeyId()).isEqualTo(KEY_ID);
+            assertThat(jws.getHeader().getAlgorithm()).isEqualTo(algorithm);
+            assertThat(claims.get("type", String.class)).isEqualTo(JwtService.ACCESS_TOKEN_TYPE);
+            assertThat(claims.getId()).isEqualTo(id.toString());
+            assertThat(claims.getSubject()).isEqualTo(subject);
+            assertThat(claims.getIssuedAt()).isEqualTo(new Date(issuedAt / 1000 * 1000));
+            assertThat(claims.getExpiration()).isEqualTo(new Date(expiresAt / 1000 * 1000));
+        }
+    }
+
+    @Test
+    void principalClaimsVerifyWithJjwtParser() {
+        var key = Keys.hmacShaKeyFor("s".repeat(32).getBytes(StandardCharsets.UTF_8));
+        var encoder = new HmacTokenEncoder(KEY_ID, key);
+        var issuedAt = System.currentTimeMillis();
+        var expiresAt = issuedAt + JwtService.REFRESH_TOKEN_LIFETIME.toMillis();
+
+        var token = encoder.encode(JwtService.REFRESH_TOKEN_TYPE, UUID.randomUUID(), SUBJECT,
+                Long.MAX_VALUE, "ADMIN", 0, issuedAt, expiresAt);
+        var claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+
+        assertThat(claims.getSubject()).isEqualTo(SUBJECT);
+        assertThat(claims.get(JwtService.USER_ID_CLAIM, Long.class)).isEqualTo(Long.MAX_VALUE);
+        assertThat(claims.get(JwtService.ROLE_CLAIM, String.class)).isEqualTo("ADMIN");
+        assertThat(claims.get(JwtService.SECURITY_VERSION_CLAIM, Long.class)).isZero();
+    }
+
+    @Test
+    void virtualThreadsShareTheBufferPool() throws Exception {
+        var key = Keys.hmacShaKeyFor("s".repeat(32).getBytes(StandardCharsets.UTF_8));
+        var encoder = new HmacTokenEncoder(KEY_ID, key);
+        var parser = Jwts.parser().verifyWith(key).build();
+        var issuedAt = System.currentTimeMillis();
+        var expiresAt = issuedAt + JwtService.ACCESS_TOKEN_LIFETIME.toMillis();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var subjects = IntStream.range(0, 1_000).mapToObj(i -> "user-" + i).toList();
+            var tokens = executor.invokeAll(subjects.stream()
+                    .<Callable<String>>map(subject -> () ->
+                            encoder.encode(JwtService.ACCESS_TOKEN_TYPE, UUID.randomUUID(), subject, issuedAt, expiresAt))
+                    .toList());
+
+            for (var i = 0; i < subjects.size(); i++) {
+                assertThat(parser.parseSignedClaims(tokens.get(i).get()).getPayload().getSubject())
+                        .isEqualTo(subjects.get(i));
+            }
+        }
+    }
+}
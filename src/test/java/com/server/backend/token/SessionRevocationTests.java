@@ -0,0 +1,56 @@
+package com.server.backend.token;
+
+import com.server.backend.jwt.JwtService;
+import com.server.backend.token.dto.request.TokenRequest;
+import com.server.backend.user.User;
+import com.server.backend.user.UserRepo;
+import com.server.backend.user.UserRole;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionRevocationTests {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void loginRightAfterRevokeAllIsAccepted() throws Exception {
+        var user = user("revoke-all-relogin");
+        var earlier = jwtService.generateTokenPair(user);
+        var presented = jwtService.generateTokenPair(user);
+
+        Thread.sleep(1_000 - System.currentTimeMillis() % 1_000);
+
+        var response = tokenService.revokeAllSessions(new TokenRequest(presented.accessToken(), ""));
+        var relogin = jwtService.generateTokenPair(user);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(jwtService.verify(earlier.refreshToken())).isEmpty();
+        assertThat(jwtService.verify(presented.accessToken())).isEmpty();
+        assertThat(jwtService.verify(relogin.accessToken())).isPresent();
+        assertThat(tokenService.rotateTokens(new TokenRequest(relogin.refreshToken(), "")).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private User user(String username) {
+        return userRepo.saveAndFlush(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}password")
+                .role(UserRole.USER)
+                .build());
+    }
+}
@@ -0,0 +1,113 @@
+package com.server.backend.token;
+
+import com.server.backend.jwt.JwtService;
+import com.server.backend.token.dto.request.TokenRequest;
+import com.server.backend.user.User;
+import com.server.backend.user.UserRepo;
+import com.server.backend.user.UserRole;
+import com.server.backend.user.UserService;
+import com.server.backend.user.dto.request.UserUpdateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenRotationTests {
+    private static final int CALLERS = 8;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Test
+    void refreshTokenRotatesOnlyOnce() throws Exception {
+        var refreshToken = jwtService.generateTokenPair(user("rotate-once")).refreshToken();
+        var start = new CountDownLatch(1);
+        var calls = new ArrayList<Callable<HttpStatus>>();
+
+        for (var i = 0; i < CALLERS; i++) {
+            calls.add(() -> {
+                start.await();
+                return HttpStatus.valueOf(tokenService.rotateTokens(request(refreshToken)).getStatusCode().value());
+            });
+        }
+
+        var statuses = new ArrayList<HttpStatus>();
+
+        try (var executor = Executors.newFixedThreadPool(CALLERS)) {
+            var futures = calls.stream().map(executor::submit).toList();
+            start.countDown();
+
+            for (var future : futures) {
+                statuses.add(future.get());
+            }
+        }
+
+        assertThat(statuses).containsOnlyOnce(HttpStatus.OK);
+        assertThat(statuses).filteredOn(HttpStatus.UNAUTHORIZED::equals).hasSize(CALLERS - 1);
+        assertThat(tokenService.rotateTokens(request(refreshToken)).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void rotatedPairKeepsRotating() {
+        var refreshToken = jwtService.generateTokenPair(user("rotate-chain")).refreshToken();
+
+        for (var i = 0; i < 3; i++) {
+            var response = tokenService.rotateTokens(request(refreshToken));
+
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            refreshToken = response.getBody().refreshToken();
+        }
+    }
+
+    @Test
+    void credentialChangeStopsRotation() {
+        var user = user("rotate-stale");
+        var refreshToken = jwtService.generateTokenPair(user).refreshToken();
+
+        userService.updateUser(user.getId(), new UserUpdateRequest("rotate-stale-new@example.com", null));
+
+        assertThat(tokenService.rotateTokens(request(refreshToken)).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void accessTokensDoNotRotate() {
+        var accessToken = jwtService.generateTokenPair(user("rotate-access")).accessToken();
+
+        assertThat(tokenService.rotateTokens(request(accessToken)).getStatusCode())
+                .isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private User user(String username) {
+        return userRepo.saveAndFlush(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}password")
+                .role(UserRole.USER)
+                .build());
+    }
+
+    private static TokenRequest request(String token) {
+        return new TokenRequest(token, "");
+    }
+}
@@ -0,0 +1,71 @@
+package com.server.backend.token;
+
+import com.server.backend.jwt.JwtService;
+import com.server.backend.metrics.AuthMetrics;
+import com.server.backend.token.dto.request.ValidateTokensRequest;
+import com.server.backend.token.dto.response.ValidateTokenResponse;
+import com.server.backend.user.User;
+import com.server.backend.user.UserRepo;
+import com.server.backend.user.UserRole;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TokenValidationTests {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void batchWithRejectedTokensIsTaggedMixed() {
+        var tokens = jwtService.generateTokenPair(user("validate-batch"));
+        var operationBefore = count(AuthMetrics.OPERATION_METRIC);
+        var verifyBefore = count(AuthMetrics.STAGE_METRIC, "stage", "verify");
+
+        var response = tokenService.validateTokens(new ValidateTokensRequest(
+                Arrays.asList(tokens.accessToken(), "not-a-token", null)));
+
+        assertThat(response.getBody().results())
+                .extracting(ValidateTokenResponse::isTokenValid)
+                .containsExactly(true, false, false);
+        assertThat(count(AuthMetrics.OPERATION_METRIC)).isEqualTo(operationBefore + 1);
+        assertThat(count(AuthMetrics.STAGE_METRIC, "stage", "verify")).isEqualTo(verifyBefore + 1);
+        assertThat(meterRegistry.find(AuthMetrics.OPERATION_METRIC)
+                .tags("operation", "token-validate-batch", "outcome", "success")
+                .timer()).isNull();
+    }
+
+    private long count(String metric, String... tags) {
+        var timer = meterRegistry.find(metric)
+                .tags("operation", "token-validate-batch", "outcome", "mixed")
+                .tags(tags)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private User user(String username) {
+        return userRepo.saveAndFlush(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("{noop}password")
+                .role(UserRole.USER)
+                .build());
+    }
+}
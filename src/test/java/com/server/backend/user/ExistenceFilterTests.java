@@ -0,0 +1,76 @@
+package com.server.backend.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExistenceFilterTests {
+    private static final int WRITERS = 4;
+    private static final int VALUES_PER_WRITER = 20_000;
+
+    @Test
+    void valuesAddedDuringRebuildSurviveTheSwap() throws Exception {
+        var filter = new ExistenceFilter("test", new SimpleMeterRegistry());
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        var start = new CountDownLatch(1);
+
+        filter.beginRebuild(VALUES_PER_WRITER * WRITERS, 0.01);
+        filter.completeRebuild();
+
+        try (var executor = Executors.newFixedThreadPool(WRITERS)) {
+            var writers = new ArrayList<Future<?>>();
+
+            for (var writer = 0; writer < WRITERS; writer++) {
+                var id = writer;
+                writers.add(executor.submit(() -> {
+                    start.await();
+
+                    for (var i = 0; i < VALUES_PER_WRITER; i++) {
+                        var value = "user-" + id + "-" + i;
+                        committed.add(value);
+                        filter.add(value);
+                    }
+
+                    return null;
+                }));
+            }
+
+            start.countDown();
+
+            while (writers.stream().anyMatch(writer -> !writer.isDone())) {
+                filter.beginRebuild(VALUES_PER_WRITER * WRITERS, 0.01);
+                committed.forEach(filter::rebuildWith);
+                filter.completeRebuild();
+            }
+
+            for (var writer : writers) {
+                writer.get();
+            }
+        }
+
+        assertThat(committed).hasSize(WRITERS * VALUES_PER_WRITER);
+        assertThat(committed).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void lookupsIgnoreCaseAndSurroundingWhitespace() {
+        var filter = new ExistenceFilter("test", new SimpleMeterRegistry());
+
+        filter.beginRebuild(100, 0.01);
+        filter.rebuildWith("Alice");
+        filter.completeRebuild();
+        filter.add("BOB@example.com ");
+
+        assertThat(filter.mightContain("alice")).isTrue();
+        assertThat(filter.mightContain(" ALICE")).isTrue();
+        assertThat(filter.mightContain("bob@EXAMPLE.com")).isTrue();
+    }
+}
@@ -0,0 +1,164 @@
+package com.server.backend.user;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class UserInsertBatchingTests {
+    private static final int USERS = 200;
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatementCountingDataSource dataSource;
+
+    @BeforeEach
+    void resetCounters() {
+        dataSource.reset();
+    }
+
+    @Test
+    void insertsAreBatchedAndIdsAreAllocatedInBlocks() {
+        var users = new ArrayList<User>(USERS);
+
+        for (var i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .username("batch-user-" + i)
+                    .email("batch-user-" + i + "@example.com")
+                    .password("{noop}password")
+                    .role(UserRole.USER)
+                    .build());
+        }
+
+        userRepo.saveAll(users);
+        entityManager.flush();
+
+        assertThat(dataSource.insertBatches.get()).isEqualTo(USERS / BATCH_SIZE);
+        assertThat(dataSource.singleInserts.get()).isZero();
+        assertThat(dataSource.sequenceCalls.get()).isLessThanOrEqualTo(USERS / User.ID_ALLOCATION_SIZE + 1);
+    }
+
+    @TestConfiguration
+    static class StatementCountingConfig {
+        @Bean
+        static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)
+                            ? new StatementCountingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    static class StatementCountingDataSource extends DelegatingDataSource {
+        final AtomicInteger insertBatches = new AtomicInteger();
+        final AtomicInteger singleInserts = new AtomicInteger();
+        final AtomicInteger sequenceCalls = new AtomicInteger();
+
+        StatementCountingDataSource(DataSource target) {
+            super(target);
+        }
+
+        void reset() {
+            insertBatches.set(0);
+            singleInserts.set(0);
+            sequenceCalls.set(0);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var connection = super.getConnection();
+
+            return proxy(Connection.class, connection, (method, args) -> {
+                var result = invoke(connection, method, args);
+
+                if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")) {
+                    return countingStatement(statement, ((String) args[0]).toLowerCase(Locale.ROOT));
+                }
+
+                return result;
+            });
+        }
+
+        private PreparedStatement countingStatement(PreparedStatement statement, String sql) {
+            return proxy(PreparedStatement.class, statement, (method, args) -> {
+                var isInsert = sql.startsWith("insert into users");
+
+                switch (method.getName()) {
+                    case "executeBatch" -> {
+                        if (isInsert) {
+                            insertBatches.incrementAndGet();
+                        }
+                    }
+                    case "executeUpdate", "execute" -> {
+                        if (isInsert) {
+                            singleInserts.incrementAndGet();
+                        }
+                    }
+                    case "executeQuery" -> {
+                        if (sql.contains("users_seq")) {
+                            sequenceCalls.incrementAndGet();
+                        }
+                    }
+                    default -> {
+                    }
+                }
+
+                return invoke(statement, method, args);
+            });
+        }
+
+        private static <T> T proxy(Class<T> type, T target, Handler handler) {
+            return type.cast(Proxy.newProxyInstance(
+                    type.getClassLoader(),
+                    new Class<?>[]{type},
+                    (proxy, method, args) -> handler.handle(method, args)
+            ));
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+
+        @FunctionalInterface
+        private interface Handler {
+            Object handle(Method method, Object[] args) throws Throwable;
+        }
+    }
+}
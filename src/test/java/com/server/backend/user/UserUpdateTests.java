@@ -0,0 +1,61 @@
+package com.server.backend.user;
+
+import com.server.backend.user.dto.request.UserUpdateRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserUpdateTests {
+    private static final String PASSWORD = "password";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    void rejectedPasswordLeavesTheEmailUnchanged() {
+        var user = user("update-same-password");
+
+        var response = userService.updateUser(user.getId(),
+                new UserUpdateRequest("update-same-password-new@example.com", PASSWORD));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+
+        var stored = userRepo.findById(user.getId()).orElseThrow();
+        assertThat(stored.getEmail()).isEqualTo("update-same-password@example.com");
+        assertThat(stored.getSecurityVersion()).isEqualTo(user.getSecurityVersion());
+    }
+
+    @Test
+    void takenEmailIsAConflict() {
+        var user = user("update-conflict");
+        var other = user("update-conflict-other");
+
+        var response = userService.updateUser(user.getId(), new UserUpdateRequest(other.getEmail(), null));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        assertThat(userRepo.findById(user.getId()).orElseThrow().getEmail())
+                .isEqualTo("update-conflict@example.com");
+    }
+
+    private User user(String username) {
+        return userRepo.saveAndFlush(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password(passwordEncoder.encode(PASSWORD))
+                .role(UserRole.USER)
+                .build());
+    }
+}
@@ -0,0 +1,64 @@
+package db.migration;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UsersSequenceMigrationTests {
+
+    @Test
+    void baselineUsersWithoutSequenceGetIdsAboveTheHighestRow() throws SQLException {
+        var dataSource = dataSource("users-without-sequence");
+
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement()) {
+            statement.execute("create table users (id bigint not null, username varchar(255) not null, "
+                    + "email varchar(255), password varchar(255), role enum ('ADMIN', 'USER'), primary key (id))");
+            statement.execute("insert into users (id, username, email) values "
+                    + "(7, 'first', 'first@example.com'), (120, 'second', 'second@example.com')");
+        }
+
+        migrate(dataSource);
+
+        assertThat(nextValue(dataSource) - 50).isGreaterThanOrEqualTo(120);
+    }
+
+    @Test
+    void freshDatabaseKeepsTheInitialSequence() throws SQLException {
+        var dataSource = dataSource("fresh");
+
+        migrate(dataSource);
+
+        assertThat(nextValue(dataSource)).isEqualTo(1);
+    }
+
+    private static void migrate(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load()
+                .migrate();
+    }
+
+    private static long nextValue(DataSource dataSource) throws SQLException {
+        try (var connection = dataSource.getConnection();
+             var statement = connection.createStatement();
+             var rows = statement.executeQuery("select next value for users_seq")) {
+            rows.next();
+            return rows.getLong(1);
+        }
+    }
+
+    private static JdbcDataSource dataSource(String name) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";MODE=MariaDB;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        return dataSource;
+    }
+}